@@ -0,0 +1,101 @@
+package com.bttf.queosk.common.autocomplete;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Redis 의 자동완성 단어 ZSET 을 노드마다 메모리에 올려둔 색인 (낱자 trie + 초성 trie)
+// 단어가 변경되면 채널로 단어를 전파하고, 각 노드는 Redis 의 현재 점수를 다시 읽어 반영
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AutoCompleteIndex implements MessageListener {
+    public static final String AUTOCOMPLETE_KEY = "autocomplete";
+    public static final String AUTOCOMPLETE_CHANNEL = "autocomplete:changed";
+    // 모든 점수가 재조정되면 전파되며, 각 노드는 색인 전체를 다시 읽음
+    public static final String AUTOCOMPLETE_RESCALED_CHANNEL = "autocomplete:rescaled";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // trie 에 넣는 접미사 최대 길이 (낱자 12개는 약 4음절), 더 긴 검색어는 후보를 실제 문자열로 확인
+    private static final int MAX_JAMO_DEPTH = 12;
+    private static final int MAX_CHOSEONG_DEPTH = 8;
+
+    private final AutoCompleteTrie jamoTrie = new AutoCompleteTrie(MAX_JAMO_DEPTH);
+    private final AutoCompleteTrie choseongTrie = new AutoCompleteTrie(MAX_CHOSEONG_DEPTH);
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, Arrays.asList(
+                new ChannelTopic(AUTOCOMPLETE_CHANNEL), new ChannelTopic(AUTOCOMPLETE_RESCALED_CHANNEL)));
+    }
+
+    // 기동 시 사전 동기화가 끝난 뒤 AutoCompleteService 에서 호출
+    public void load() {
+        Set<ZSetOperations.TypedTuple<String>> words =
+                redisTemplate.opsForZSet().rangeWithScores(AUTOCOMPLETE_KEY, 0, -1);
+        if (words != null) {
+            words.forEach(word -> put(word.getValue(), word.getScore() == null ? 0 : word.getScore()));
+        }
+        log.info("Auto-complete index loaded ({} words)", jamoTrie.size());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (AUTOCOMPLETE_RESCALED_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            load();
+            return;
+        }
+        refresh(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    public void refresh(String word) {
+        Double score = redisTemplate.opsForZSet().score(AUTOCOMPLETE_KEY, word);
+        if (score == null) {
+            remove(word);
+        } else {
+            put(word, score);
+        }
+    }
+
+    // 이름은 낱자로 분해해 음절(문자) 시작 위치에서만 검색되도록 넣음
+    public void put(String word, double score) {
+        DecomposedHangul decomposed = HangulUtils.decompose(normalize(word));
+        jamoTrie.put(word, decomposed.getJamo(), decomposed.getOffsets(), score);
+        choseongTrie.put(word, HangulUtils.extractChoseong(word), score);
+    }
+
+    public void remove(String word) {
+        jamoTrie.remove(word);
+        choseongTrie.remove(word);
+    }
+
+    // 이름에 keyword 를 포함하는 단어 (대소문자 구분 없음)
+    // 낱자 단위로 비교하므로 입력 중인 마지막 음절("칰", "치ㅋ")도 "치킨"의 접두어로 일치
+    public List<String> search(String keyword, int limit) {
+        return jamoTrie.search(HangulUtils.decompose(normalize(keyword)).getJamo(), limit);
+    }
+
+    // 초성에 consonants 를 포함하는 단어
+    public List<String> searchByChoseong(String consonants, int limit) {
+        return choseongTrie.search(consonants, limit);
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
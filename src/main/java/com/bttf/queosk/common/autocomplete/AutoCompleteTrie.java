@@ -0,0 +1,123 @@
+package com.bttf.queosk.common.autocomplete;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// 단어의 접미사(지정한 시작 위치부터, 최대 maxDepth 글자)를 넣은 trie, 각 노드는 그 아래를 지나는 단어를 점수 내림차순으로 보관
+// 부분 문자열 검색이 경로를 따라 내려간 뒤 앞에서 limit 개를 꺼내는 것으로 끝남 (쓰기는 동기화, 읽기는 잠금 없음)
+public class AutoCompleteTrie {
+    private static final Comparator<Word> WORD_ORDER =
+            Comparator.comparingDouble((Word word) -> -word.score)
+                    .thenComparing(word -> word.value);
+
+    private final int maxDepth;
+    private final Node root = new Node();
+    private final Map<String, Word> words = new ConcurrentHashMap<>();
+
+    public AutoCompleteTrie(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    // key 는 검색에 사용할 문자열 (예: 초성), value 는 결과로 돌려줄 단어
+    public void put(String value, String key, double score) {
+        int[] starts = new int[key.length()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = i;
+        }
+        put(value, key, starts, score);
+    }
+
+    // starts 에 지정한 위치에서 시작하는 검색어만 찾을 수 있음 (예: 낱자 분해 시 음절 시작 위치)
+    public synchronized void put(String value, String key, int[] starts, double score) {
+        remove(value);
+        Word word = new Word(value, key, starts, score);
+        words.put(value, word);
+
+        root.words.add(word);
+        for (int start : starts) {
+            Node node = root;
+            for (int i = start; i < Math.min(key.length(), start + maxDepth); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), ch -> new Node());
+                node.words.add(word);
+            }
+        }
+    }
+
+    public synchronized void remove(String value) {
+        Word word = words.remove(value);
+        if (word == null) {
+            return;
+        }
+
+        root.words.remove(word);
+        for (int start : word.starts) {
+            Node parent = root;
+            for (int i = start; i < Math.min(word.key.length(), start + maxDepth); i++) {
+                Node node = parent.children.get(word.key.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                node.words.remove(word);
+                // 하위 노드의 단어는 상위 노드 단어의 부분집합이므로 비었다면 하위 전체를 정리
+                if (node.words.isEmpty()) {
+                    parent.children.remove(word.key.charAt(i));
+                    break;
+                }
+                parent = node;
+            }
+        }
+    }
+
+    // key 에 keyword 를 포함하는 단어를 점수 순으로 최대 limit 개
+    public List<String> search(String keyword, int limit) {
+        Node node = root;
+        for (int i = 0; i < Math.min(keyword.length(), maxDepth) && node != null; i++) {
+            node = node.children.get(keyword.charAt(i));
+        }
+        if (node == null) {
+            return Collections.emptyList();
+        }
+
+        // maxDepth 보다 긴 검색어는 앞부분으로 찾은 후보를 실제 문자열로 확인
+        boolean verify = keyword.length() > maxDepth;
+        List<String> result = new ArrayList<>(limit);
+        for (Word word : node.words) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!verify || word.key.contains(keyword)) {
+                result.add(word.value);
+            }
+        }
+        return result;
+    }
+
+    public Double getScore(String value) {
+        Word word = words.get(value);
+        return word == null ? null : word.score;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new ConcurrentHashMap<>();
+        private final Set<Word> words = new ConcurrentSkipListSet<>(WORD_ORDER);
+    }
+
+    private static class Word {
+        private final String value;
+        private final String key;
+        private final int[] starts;
+        private final double score;
+
+        private Word(String value, String key, int[] starts, double score) {
+            this.value = value;
+            this.key = key;
+            this.starts = starts;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.bttf.queosk.common.autocomplete;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 낱자로 분해된 문자열과 원래 문자별 시작 위치
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class DecomposedHangul {
+    private final String jamo;
+    private final int[] offsets;
+}
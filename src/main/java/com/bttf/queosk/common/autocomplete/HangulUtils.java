@@ -0,0 +1,87 @@
+package com.bttf.queosk.common.autocomplete;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public final class HangulUtils {
+    private static final char[] CHOSEONG = {
+            'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ',
+            'ㅅ', 'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'};
+    // 겹모음, 겹받침은 입력 도중 상태와 맞추기 위해 낱자로 분해
+    private static final String[] JUNGSEONG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ",
+            "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+    private static final String[] JONGSEONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ",
+            "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    private static final Map<Character, String> COMPOUND_JAMO = new HashMap<>();
+    private static final int JUNGSEONG_COUNT = 21;
+    private static final int JONGSEONG_COUNT = 28;
+
+    static {
+        String compounds = "ㄳㄵㄶㄺㄻㄼㄽㄾㄿㅀㅄㅘㅙㅚㅝㅞㅟㅢ";
+        String[] parts = {"ㄱㅅ", "ㄴㅈ", "ㄴㅎ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅂㅅ",
+                "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅡㅣ"};
+        for (int i = 0; i < parts.length; i++) {
+            COMPOUND_JAMO.put(compounds.charAt(i), parts[i]);
+        }
+    }
+
+    private HangulUtils() {
+    }
+
+    // 완성된 한글 음절인지 확인
+    public static boolean isSyllable(char ch) {
+        return ch >= 0xAC00 && ch <= 0xD7A3;
+    }
+
+    // 한글 자음인지 확인
+    public static boolean isConsonant(char ch) {
+        return ch >= 'ㄱ' && ch <= 'ㅎ';
+    }
+
+    // 문자에서 초성을 추출 (한글 음절이 아닌 문자는 제외)
+    public static String extractChoseong(String text) {
+        StringBuilder choseong = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (isSyllable(ch)) {
+                choseong.append(CHOSEONG[(ch - 0xAC00) / (JUNGSEONG_COUNT * JONGSEONG_COUNT)]);
+            }
+        }
+        return choseong.toString();
+    }
+
+    // 한글을 낱자(자음, 모음) 단위로 분해, 원래 문자마다 분해된 문자열에서의 시작 위치를 함께 반환
+    // ex) "치킨" -> "ㅊㅣㅋㅣㄴ" [0, 2], 입력 중인 "칰" -> "ㅊㅣㅋ" 으로 접두어 비교 가능
+    public static DecomposedHangul decompose(String text) {
+        StringBuilder jamo = new StringBuilder(text.length() * 3);
+        int[] offsets = new int[text.length()];
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            offsets[i] = jamo.length();
+            if (isSyllable(ch)) {
+                int index = ch - 0xAC00;
+                jamo.append(CHOSEONG[index / (JUNGSEONG_COUNT * JONGSEONG_COUNT)])
+                        .append(JUNGSEONG[(index / JONGSEONG_COUNT) % JUNGSEONG_COUNT])
+                        .append(JONGSEONG[index % JONGSEONG_COUNT]);
+            } else if (COMPOUND_JAMO.containsKey(ch)) {
+                jamo.append(COMPOUND_JAMO.get(ch));
+            } else {
+                jamo.append(ch);
+            }
+        }
+        return DecomposedHangul.of(jamo.toString(), offsets);
+    }
+
+    // 완성된 한글을 제거 (초성 검색용)
+    public static String removeSyllables(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            if (!isSyllable(text.charAt(i))) {
+                result.append(text.charAt(i));
+            }
+        }
+        return result.toString();
+    }
+}
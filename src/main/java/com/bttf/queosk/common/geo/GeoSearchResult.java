@@ -0,0 +1,15 @@
+package com.bttf.queosk.common.geo;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+// 거리순으로 정렬된 매장 id 와 조건에 맞는 전체 매장 수
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class GeoSearchResult {
+    private final List<Long> restaurantIds;
+    private final List<Double> distances;
+    private final long totalCount;
+}
@@ -0,0 +1,61 @@
+package com.bttf.queosk.common.geo;
+
+public final class Geohash {
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private Geohash() {
+    }
+
+    // 좌표가 속한 geohash 칸 (precision 7 은 약 150m x 150m)
+    public static String encode(double lat, double lng, int precision) {
+        double[] latRange = {-90.0, 90.0};
+        double[] lngRange = {-180.0, 180.0};
+        StringBuilder geohash = new StringBuilder(precision);
+        boolean lngBit = true;
+        int bits = 0;
+        int value = 0;
+
+        while (geohash.length() < precision) {
+            double[] range = lngBit ? lngRange : latRange;
+            double coordinate = lngBit ? lng : lat;
+            double mid = (range[0] + range[1]) / 2;
+            value <<= 1;
+            if (coordinate >= mid) {
+                value |= 1;
+                range[0] = mid;
+            } else {
+                range[1] = mid;
+            }
+            lngBit = !lngBit;
+
+            if (++bits == 5) {
+                geohash.append(BASE32.charAt(value));
+                bits = 0;
+                value = 0;
+            }
+        }
+        return geohash.toString();
+    }
+
+    // 칸의 경계 {최소 위도, 최대 위도, 최소 경도, 최대 경도}
+    public static double[] bounds(String geohash) {
+        double[] latRange = {-90.0, 90.0};
+        double[] lngRange = {-180.0, 180.0};
+        boolean lngBit = true;
+
+        for (int i = 0; i < geohash.length(); i++) {
+            int value = BASE32.indexOf(geohash.charAt(i));
+            for (int bit = 4; bit >= 0; bit--) {
+                double[] range = lngBit ? lngRange : latRange;
+                double mid = (range[0] + range[1]) / 2;
+                if (((value >> bit) & 1) == 1) {
+                    range[0] = mid;
+                } else {
+                    range[1] = mid;
+                }
+                lngBit = !lngBit;
+            }
+        }
+        return new double[]{latRange[0], latRange[1], lngRange[0], lngRange[1]};
+    }
+}
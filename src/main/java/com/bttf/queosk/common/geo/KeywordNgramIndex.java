@@ -0,0 +1,97 @@
+package com.bttf.queosk.common.geo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 매장 이름의 역색인 (글자 1개, 2개 단위), 검색어의 bigram 목록을 교집합해 후보를 구한 뒤 실제 포함 여부를 확인
+public class KeywordNgramIndex {
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    public void put(Long id, String name) {
+        remove(id);
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        String normalized = normalize(name);
+        names.put(id, normalized);
+        for (String gram : indexGrams(normalized)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    public void remove(Long id) {
+        String previous = names.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : indexGrams(previous)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    // 검색어를 이름에 포함하는 매장 id (대소문자 구분 없음)
+    public Set<Long> find(String keyword) {
+        String normalized = normalize(keyword);
+        if (normalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : queryGrams(normalized)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        // 가장 짧은 목록부터 교집합
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+
+        // bigram 이 모두 있어도 순서가 다를 수 있으므로 세 글자 이상은 실제 이름으로 확인
+        if (normalized.length() > 2) {
+            result.removeIf(id -> {
+                String name = names.get(id);
+                return name == null || !name.contains(normalized);
+            });
+        }
+        return result;
+    }
+
+    private static Set<String> indexGrams(String name) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i < name.length(); i++) {
+            grams.add(name.substring(i, i + 1));
+            if (i + 1 < name.length()) {
+                grams.add(name.substring(i, i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private static Set<String> queryGrams(String keyword) {
+        if (keyword.length() == 1) {
+            return Collections.singleton(keyword);
+        }
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 1 < keyword.length(); i++) {
+            grams.add(keyword.substring(i, i + 2));
+        }
+        return grams;
+    }
+
+    private static String normalize(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
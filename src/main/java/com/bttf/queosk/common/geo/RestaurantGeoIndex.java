@@ -0,0 +1,359 @@
+package com.bttf.queosk.common.geo;
+
+import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.enumerate.RestaurantCategory;
+import com.bttf.queosk.event.RestaurantSyncEvent;
+import com.bttf.queosk.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// 매장 좌표를 격자(약 1km) 단위로 나눈 메모리 색인, 주변 칸부터 넓혀가며 후보를 찾고 후보만 정확한 거리로 정렬
+// 키워드 검색은 이름 n-gram 색인으로 찾은 매장만 거리 계산
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RestaurantGeoIndex {
+    private static final double CELL_DEGREES = 0.01;
+    private static final int LOAD_PAGE_SIZE = 1000;
+    // 이 수 이하의 후보는 격자 탐색 없이 모두 거리 계산
+    private static final int BRUTE_FORCE_LIMIT = 1000;
+    private static final Comparator<Candidate> CANDIDATE_ORDER =
+            Comparator.comparingDouble((Candidate candidate) -> candidate.distance)
+                    .thenComparing(candidate -> candidate.id);
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<RestaurantCategory, AtomicLong> categoryCounts = new ConcurrentHashMap<>();
+    private final KeywordNgramIndex keywordIndex = new KeywordNgramIndex();
+    private final TileClusterGrid tileClusterGrid = new TileClusterGrid();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Page<Restaurant> page;
+        int pageNumber = 0;
+        do {
+            page = restaurantRepository.findAll(PageRequest.of(pageNumber++, LOAD_PAGE_SIZE));
+            page.forEach(this::put);
+        } while (page.hasNext());
+
+        ready = true;
+        log.info("Restaurant geo index loaded ({} restaurants, {} cells)", entries.size(), cells.size());
+    }
+
+    // 매장이 변경되면 DB 에서 다시 읽어 색인을 갱신 (색인을 참조하는 캐시보다 먼저 실행)
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void refresh(RestaurantSyncEvent event) {
+        Optional<Restaurant> restaurant = restaurantRepository.findById(event.getRestaurantId());
+        if (restaurant.isPresent()) {
+            put(restaurant.get());
+        } else {
+            remove(event.getRestaurantId());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 조건에 맞는 매장을 거리순으로 offset 부터 limit 개 반환
+    public GeoSearchResult search(double lat, double lng, RestaurantCategory category,
+                                  String keyword, long offset, int limit) {
+        int needed = (int) Math.min(Integer.MAX_VALUE, offset + limit);
+        List<Candidate> nearest = collect(lat, lng, category, keyword, needed, null, null, Double.POSITIVE_INFINITY);
+
+        return toResult(nearest.subList((int) Math.min(offset, nearest.size()), nearest.size()),
+                count(category, keyword));
+    }
+
+    // (거리, id) 기준으로 커서 다음 매장을 거리순으로 limit 개 반환 (깊은 페이지도 앞 페이지를 다시 정렬하지 않음)
+    public GeoSearchResult searchAfter(double lat, double lng, RestaurantCategory category, String keyword,
+                                       Double afterDistance, Long afterId, int limit) {
+        List<Candidate> nearest =
+                collect(lat, lng, category, keyword, limit, afterDistance, afterId, Double.POSITIVE_INFINITY);
+
+        return toResult(nearest, count(category, keyword));
+    }
+
+    // (needed 번째로 가까운 거리 + marginKm) 안의 조건에 맞는 매장을 모두 반환 (조건에 맞는 매장이 needed 개 미만이면 전부)
+    // 중심에서 marginKm / 2 이내의 어느 좌표에서든 가까운 needed 개가 이 안에 모두 포함됨
+    public GeoSearchResult searchWithin(double lat, double lng, RestaurantCategory category, String keyword,
+                                        int needed, double marginKm) {
+        List<Candidate> nearest =
+                collect(lat, lng, category, keyword, needed, null, null, Double.POSITIVE_INFINITY);
+        if (nearest.size() < needed) {
+            return toResult(nearest, count(category, keyword));
+        }
+
+        double radiusKm = nearest.get(nearest.size() - 1).distance + marginKm;
+        return toResult(collect(lat, lng, category, keyword, Integer.MAX_VALUE, null, null, radiusKm),
+                count(category, keyword));
+    }
+
+    // 지도 영역의 줌 레벨 타일별 매장 집계
+    public List<TileCluster> clusters(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        return tileClusterGrid.clusters(minLat, minLng, maxLat, maxLng, zoom);
+    }
+
+    // 색인된 매장이 지정한 원 안에 있는지 확인
+    public boolean isWithin(Long restaurantId, double lat, double lng, double radiusKm) {
+        Entry entry = entries.get(restaurantId);
+        return entry != null && entry.distanceKm(lat, lng) <= radiusKm;
+    }
+
+    // 조건에 맞는 전체 매장 수 (키워드가 없다면 카테고리별로 유지하는 값 사용)
+    public long count(RestaurantCategory category, String keyword) {
+        if (!hasText(keyword)) {
+            return countOf(category);
+        }
+        Predicate<Entry> filter = filterOf(category);
+        return keywordIndex.find(keyword).stream()
+                .map(entries::get)
+                .filter(entry -> entry != null && filter.test(entry))
+                .count();
+    }
+
+    private List<Candidate> collect(double lat, double lng, RestaurantCategory category, String keyword,
+                                    int needed, Double afterDistance, Long afterId, double maxDistance) {
+        Predicate<Entry> filter = filterOf(category);
+        Predicate<Candidate> after = candidate -> candidate.distance <= maxDistance &&
+                (afterDistance == null ||
+                        candidate.distance > afterDistance ||
+                        (candidate.distance == afterDistance && candidate.id > afterId));
+
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(CANDIDATE_ORDER.reversed());
+
+        // 키워드 검색은 n-gram 색인의 후보만 거리 계산 (후보가 흩어져 있어 격자 탐색 이점이 적음)
+        if (hasText(keyword)) {
+            scan(keywordIndex.find(keyword), lat, lng, filter, after, needed, nearest);
+        } else if (entries.size() <= BRUTE_FORCE_LIMIT) {
+            scanAll(lat, lng, filter, after, needed, nearest);
+        } else {
+            searchRings(lat, lng, filter, after, needed, startRing(afterDistance), maxDistance, nearest);
+        }
+
+        List<Candidate> sorted = new ArrayList<>(nearest);
+        sorted.sort(CANDIDATE_ORDER);
+        return sorted;
+    }
+
+    private void scanAll(double lat, double lng, Predicate<Entry> filter, Predicate<Candidate> after,
+                         int needed, PriorityQueue<Candidate> nearest) {
+        for (Entry entry : entries.values()) {
+            if (filter.test(entry)) {
+                offer(nearest, needed, new Candidate(entry.id, entry.distanceKm(lat, lng)), after);
+            }
+        }
+    }
+
+    private void scan(Collection<Long> restaurantIds, double lat, double lng, Predicate<Entry> filter,
+                      Predicate<Candidate> after, int needed, PriorityQueue<Candidate> nearest) {
+        for (Long id : restaurantIds) {
+            Entry entry = entries.get(id);
+            if (entry != null && filter.test(entry)) {
+                offer(nearest, needed, new Candidate(entry.id, entry.distanceKm(lat, lng)), after);
+            }
+        }
+    }
+
+    // 중심 칸에서 한 겹씩 넓혀가며 탐색, 찾은 needed 번째 거리(또는 maxDistance)보다 아직 보지 않은 칸이 멀다면 종료
+    private void searchRings(double lat, double lng, Predicate<Entry> filter, Predicate<Candidate> after,
+                             int needed, int startRing, double maxDistance, PriorityQueue<Candidate> nearest) {
+        int centerX = cellIndex(lng);
+        int centerY = cellIndex(lat);
+        long visited = 0;
+
+        for (int ring = startRing; visited < entries.size(); ring++) {
+            // 테두리 칸 수가 전체 칸 수보다 많아지면 남은 격자를 도는 것보다 전체를 한 번 보는 편이 빠름
+            if (8L * ring > cells.size()) {
+                nearest.clear();
+                scanAll(lat, lng, filter, after, needed, nearest);
+                return;
+            }
+
+            // ring 번째 겹의 테두리 칸만 방문
+            for (int d = -ring; d <= ring; d++) {
+                visited += visitCell(centerX + d, centerY - ring, lat, lng, filter, after, needed, nearest);
+                if (ring > 0) {
+                    visited += visitCell(centerX + d, centerY + ring, lat, lng, filter, after, needed, nearest);
+                }
+            }
+            for (int d = -ring + 1; d <= ring - 1; d++) {
+                visited += visitCell(centerX - ring, centerY + d, lat, lng, filter, after, needed, nearest);
+                visited += visitCell(centerX + ring, centerY + d, lat, lng, filter, after, needed, nearest);
+            }
+
+            double coveredRadiusKm = coveredRadiusKm(lat, ring);
+            if (coveredRadiusKm >= maxDistance ||
+                    (!nearest.isEmpty() && nearest.size() >= needed && nearest.peek().distance <= coveredRadiusKm)) {
+                return;
+            }
+        }
+    }
+
+    // 칸 안의 매장을 후보로 넣고 살펴본 매장 수를 반환
+    private int visitCell(int x, int y, double lat, double lng, Predicate<Entry> filter,
+                          Predicate<Candidate> after, int needed, PriorityQueue<Candidate> nearest) {
+        Set<Long> cell = cells.get(cellKey(x, y));
+        if (cell == null) {
+            return 0;
+        }
+        int visited = 0;
+        for (Long id : cell) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            visited++;
+            if (filter.test(entry)) {
+                offer(nearest, needed, new Candidate(entry.id, entry.distanceKm(lat, lng)), after);
+            }
+        }
+        return visited;
+    }
+
+    // 커서 거리 안쪽에 완전히 들어가는 겹은 건너뜀 (겹 r 의 매장은 중심에서 (r + 1) 칸 대각선 거리 이내)
+    private static int startRing(Double afterDistance) {
+        if (afterDistance == null) {
+            return 0;
+        }
+        double cellDiagonalKm = Math.sqrt(2) * CELL_DEGREES * GeoUtils.KM_PER_DEGREE;
+        return Math.max(0, (int) Math.floor(afterDistance / cellDiagonalKm) - 1);
+    }
+
+    private static Predicate<Entry> filterOf(RestaurantCategory category) {
+        return entry -> category == null || category == RestaurantCategory.ALL || entry.category == category;
+    }
+
+    private static boolean hasText(String keyword) {
+        return keyword != null && !keyword.isEmpty();
+    }
+
+    private static GeoSearchResult toResult(List<Candidate> candidates, long totalCount) {
+        List<Long> restaurantIds = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        for (Candidate candidate : candidates) {
+            restaurantIds.add(candidate.id);
+            distances.add(candidate.distance);
+        }
+        return GeoSearchResult.of(restaurantIds, distances, totalCount);
+    }
+
+    // ring 겹까지 탐색했을 때 확실히 모두 살펴본 반경 (경도 방향 칸이 더 좁으므로 위도 보정)
+    private static double coveredRadiusKm(double lat, int ring) {
+        double farthestLat = Math.min(89.0, Math.abs(lat) + (ring + 1) * CELL_DEGREES);
+        return ring * CELL_DEGREES * GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians(farthestLat));
+    }
+
+    private static void offer(PriorityQueue<Candidate> nearest, int needed,
+                              Candidate candidate, Predicate<Candidate> after) {
+        if (needed <= 0 || !after.test(candidate)) {
+            return;
+        }
+        if (nearest.size() < needed) {
+            nearest.add(candidate);
+        } else if (CANDIDATE_ORDER.compare(candidate, nearest.peek()) < 0) {
+            nearest.poll();
+            nearest.add(candidate);
+        }
+    }
+
+    private long countOf(RestaurantCategory category) {
+        if (category == null || category == RestaurantCategory.ALL) {
+            return entries.size();
+        }
+        AtomicLong count = categoryCounts.get(category);
+        return count == null ? 0 : count.get();
+    }
+
+    private synchronized void put(Restaurant restaurant) {
+        remove(restaurant.getId());
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            return;
+        }
+        Entry entry = new Entry(restaurant.getId(), restaurant.getLatitude(), restaurant.getLongitude(),
+                restaurant.getCategory());
+
+        entries.put(entry.id, entry);
+        keywordIndex.put(entry.id, restaurant.getRestaurantName());
+        tileClusterGrid.add(entry.lat, entry.lng, entry.category);
+        cells.computeIfAbsent(entry.cellKey(), key -> ConcurrentHashMap.newKeySet()).add(entry.id);
+        if (entry.category != null) {
+            categoryCounts.computeIfAbsent(entry.category, key -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(Long restaurantId) {
+        Entry previous = entries.remove(restaurantId);
+        if (previous == null) {
+            return;
+        }
+        keywordIndex.remove(restaurantId);
+        tileClusterGrid.remove(previous.lat, previous.lng, previous.category);
+        Set<Long> cell = cells.get(previous.cellKey());
+        if (cell != null) {
+            cell.remove(restaurantId);
+            if (cell.isEmpty()) {
+                cells.remove(previous.cellKey());
+            }
+        }
+        if (previous.category != null) {
+            categoryCounts.get(previous.category).decrementAndGet();
+        }
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) y << 32) | (x & 0xffffffffL);
+    }
+
+    private static class Entry {
+        private final Long id;
+        private final double lat;
+        private final double lng;
+        private final RestaurantCategory category;
+
+        private Entry(Long id, double lat, double lng, RestaurantCategory category) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.category = category;
+        }
+
+        private long cellKey() {
+            return RestaurantGeoIndex.cellKey(cellIndex(lng), cellIndex(lat));
+        }
+
+        private double distanceKm(double fromLat, double fromLng) {
+            return GeoUtils.distanceKm(fromLat, fromLng, lat, lng);
+        }
+    }
+
+    private static class Candidate {
+        private final Long id;
+        private final double distance;
+
+        private Candidate(Long id, double distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.bttf.queosk.common.geo;
+
+import com.bttf.queosk.enumerate.RestaurantCategory;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+// 지도 타일 하나에 모인 매장 집계 (매장 수, 좌표 평균, 카테고리별 수)
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class TileCluster {
+    private final int zoom;
+    private final int x;
+    private final int y;
+    private final long count;
+    private final double latitude;
+    private final double longitude;
+    private final Map<RestaurantCategory, Long> categoryCounts;
+}
@@ -0,0 +1,125 @@
+package com.bttf.queosk.common.geo;
+
+import com.bttf.queosk.enumerate.RestaurantCategory;
+
+import java.util.*;
+
+// 지도 타일(Web Mercator z/x/y) 단위로 매장 수, 좌표 합, 카테고리별 수를 모든 줌 레벨에 미리 집계한 격자
+// 매장이 추가/삭제될 때 레벨마다 해당 타일 하나씩만 갱신
+public class TileClusterGrid {
+    public static final int MAX_ZOOM = 18;
+    private static final double MAX_LATITUDE = 85.05112878;
+
+    private final List<Map<Long, Aggregate>> levels = new ArrayList<>();
+
+    public TileClusterGrid() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public synchronized void add(double lat, double lng, RestaurantCategory category) {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.get(zoom)
+                    .computeIfAbsent(tileKey(tileX(lng, zoom), tileY(lat, zoom)), key -> new Aggregate())
+                    .add(lat, lng, category, 1);
+        }
+    }
+
+    public synchronized void remove(double lat, double lng, RestaurantCategory category) {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            long key = tileKey(tileX(lng, zoom), tileY(lat, zoom));
+            Aggregate aggregate = levels.get(zoom).get(key);
+            if (aggregate == null) {
+                continue;
+            }
+            aggregate.add(lat, lng, category, -1);
+            if (aggregate.count <= 0) {
+                levels.get(zoom).remove(key);
+            }
+        }
+    }
+
+    // 영역과 겹치는 타일 수 (빈 타일 포함)
+    public static long tileCount(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        long width = tileX(maxLng, zoom) - tileX(minLng, zoom) + 1L;
+        long height = tileY(minLat, zoom) - tileY(maxLat, zoom) + 1L;
+        return Math.max(0, width) * Math.max(0, height);
+    }
+
+    // 영역과 겹치는 타일 중 매장이 있는 타일의 집계
+    public synchronized List<TileCluster> clusters(double minLat, double minLng,
+                                                   double maxLat, double maxLng, int zoom) {
+        int level = Math.max(0, Math.min(MAX_ZOOM, zoom));
+        int minX = tileX(minLng, level);
+        int maxX = tileX(maxLng, level);
+        int minY = tileY(maxLat, level);
+        int maxY = tileY(minLat, level);
+        Map<Long, Aggregate> tiles = levels.get(level);
+
+        List<TileCluster> clusters = new ArrayList<>();
+        // 영역의 타일 수와 매장이 있는 타일 수 중 작은 쪽을 순회
+        if (tileCount(minLat, minLng, maxLat, maxLng, level) <= tiles.size()) {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    Aggregate aggregate = tiles.get(tileKey(x, y));
+                    if (aggregate != null) {
+                        clusters.add(aggregate.toCluster(level, x, y));
+                    }
+                }
+            }
+        } else {
+            tiles.forEach((key, aggregate) -> {
+                int x = (int) (key >>> 32);
+                int y = (int) (long) key;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    clusters.add(aggregate.toCluster(level, x, y));
+                }
+            });
+        }
+        return clusters;
+    }
+
+    static int tileX(double lng, int zoom) {
+        int tiles = 1 << zoom;
+        int x = (int) Math.floor((lng + 180.0) / 360.0 * tiles);
+        return Math.max(0, Math.min(tiles - 1, x));
+    }
+
+    static int tileY(double lat, int zoom) {
+        int tiles = 1 << zoom;
+        double latRad = Math.toRadians(Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lat)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * tiles);
+        return Math.max(0, Math.min(tiles - 1, y));
+    }
+
+    private static long tileKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xffffffffL);
+    }
+
+    private static class Aggregate {
+        private long count;
+        private double sumLat;
+        private double sumLng;
+        private final Map<RestaurantCategory, Long> categoryCounts = new EnumMap<>(RestaurantCategory.class);
+
+        private void add(double lat, double lng, RestaurantCategory category, int delta) {
+            count += delta;
+            sumLat += lat * delta;
+            sumLng += lng * delta;
+            if (category != null) {
+                long categoryCount = categoryCounts.getOrDefault(category, 0L) + delta;
+                if (categoryCount <= 0) {
+                    categoryCounts.remove(category);
+                } else {
+                    categoryCounts.put(category, categoryCount);
+                }
+            }
+        }
+
+        private TileCluster toCluster(int zoom, int x, int y) {
+            return TileCluster.of(zoom, x, y, count, sumLat / count, sumLng / count,
+                    new EnumMap<>(categoryCounts));
+        }
+    }
+}
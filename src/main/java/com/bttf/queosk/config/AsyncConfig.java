@@ -0,0 +1,55 @@
+package com.bttf.queosk.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    @Value("${notification.executor.pool-size:2}")
+    private int poolSize;
+
+    @Value("${notification.executor.queue-capacity:1000}")
+    private int queueCapacity;
+
+    private final AtomicLong rejectedNotifications = new AtomicLong();
+
+    // Executor 빈을 직접 등록하면 스프링 부트의 기본 실행기가 만들어지지 않으므로 같은 이름과 설정(spring.task.execution)으로 등록
+    // (실행기를 지정하지 않은 @Async, MVC 비동기 요청은 알림 실행기가 아닌 이 실행기를 사용)
+    @Lazy
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    // 알림 전송용 실행기, @Async("notificationExecutor") 로 지정한 작업만 실행
+    // (큐가 가득 차면 요청 스레드를 막지 않도록 해당 알림은 버리고, 버린 건수를 함께 기록)
+    @Bean
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("notification-");
+        executor.setRejectedExecutionHandler((runnable, pool) ->
+                log.warn("Notification dropped, executor queue is full (capacity: {}, dropped so far: {})",
+                        queueCapacity, rejectedNotifications.incrementAndGet()));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    // 기동 후 큐가 가득 차 버려진 알림 수
+    public long getRejectedNotificationCount() {
+        return rejectedNotifications.get();
+    }
+}
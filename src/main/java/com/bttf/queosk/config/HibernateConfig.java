@@ -0,0 +1,24 @@
+package com.bttf.queosk.config;
+
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateConfig {
+
+    private static final int JDBC_BATCH_SIZE = 50;
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer() {
+        return properties -> {
+            // IN 절 파라미터 수를 2의 거듭제곱으로 맞춰 id 목록 길이마다 새 쿼리 플랜이 생기지 않도록 함
+            properties.put("hibernate.query.in_clause_parameter_padding", "true");
+            // 같은 테이블의 INSERT/UPDATE 를 모아 JDBC 배치로 실행
+            // (IDENTITY 키를 쓰는 엔티티의 INSERT 는 키를 바로 받아와야 하므로 배치되지 않음)
+            properties.put("hibernate.jdbc.batch_size", String.valueOf(JDBC_BATCH_SIZE));
+            properties.put("hibernate.order_inserts", "true");
+            properties.put("hibernate.order_updates", "true");
+        };
+    }
+}
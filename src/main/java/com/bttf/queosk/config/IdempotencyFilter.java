@@ -0,0 +1,202 @@
+package com.bttf.queosk.config;
+
+import com.bttf.queosk.dto.IdempotentResponseDto;
+import com.bttf.queosk.exception.ErrorCode;
+import com.bttf.queosk.exception.ErrorResponse;
+import com.bttf.queosk.repository.IdempotencyRedisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.PatternMatchUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static com.bttf.queosk.exception.ErrorCode.IDEMPOTENCY_KEY_REUSED;
+import static com.bttf.queosk.exception.ErrorCode.IDEMPOTENT_REQUEST_IN_PROGRESS;
+import static com.bttf.queosk.repository.IdempotencyRedisRepository.IN_PROGRESS;
+
+@RequiredArgsConstructor
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final String[] IDEMPOTENT_URIS = {
+            "/api/user/order",           // 사용자 주문 등록
+            "/api/payment/ready"         // 카카오페이 결제 준비
+    };
+    // 처리중 표시는 서버가 요청 처리 도중 종료되어도 풀리도록 짧게 유지
+    private static final long IN_PROGRESS_TTL_SECONDS = TimeUnit.MINUTES.toSeconds(1);
+    // 응답 본문 길이, 전송 방식 등은 재생하는 응답에 맞게 다시 정해지므로 저장하지 않음
+    private static final Set<String> NOT_REPLAYED_HEADERS = new HashSet<>(Arrays.asList(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_TYPE.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.DATE.toLowerCase(Locale.ROOT)
+    ));
+
+    private final IdempotencyRedisRepository idempotencyRedisRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    // Idempotency-Key 헤더가 있는 주문, 결제 준비 요청만 처리 (헤더가 없다면 기존과 동일하게 동작)
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod())
+                || !PatternMatchUtils.simpleMatch(IDEMPOTENT_URIS, request.getRequestURI())
+                || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        String key = scopedKey(request);
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // 재시도는 GET 한 번으로 저장된 응답을 돌려받고, 처음 요청만 처리중 표시를 선점
+        String stored = idempotencyRedisRepository.find(key);
+        if (stored == null && idempotencyRedisRepository.reserve(key, IN_PROGRESS_TTL_SECONDS)) {
+            execute(request, response, chain, key);
+            return;
+        }
+        if (stored == null) {
+            stored = idempotencyRedisRepository.find(key);
+        }
+
+        if (stored == null || IN_PROGRESS.equals(stored)) {
+            writeError(response, IDEMPOTENT_REQUEST_IN_PROGRESS);
+            return;
+        }
+
+        // 본문이 다르면 다른 요청이므로 처음 응답을 재생하지 않음 (재생할 때는 컨트롤러가 본문을 읽지 않으므로 직접 읽음)
+        IdempotentResponseDto idempotentResponse = objectMapper.readValue(stored, IdempotentResponseDto.class);
+        if (!hash(StreamUtils.copyToByteArray(request.getInputStream()))
+                .equals(idempotentResponse.getRequestHash())) {
+            writeError(response, IDEMPOTENCY_KEY_REUSED);
+            return;
+        }
+        replay(response, idempotentResponse);
+    }
+
+    // 사용자, 경로별로 키를 구분해 다른 사용자나 다른 API 의 응답이 재생되지 않도록 함
+    private String scopedKey(HttpServletRequest request) {
+        String token = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token == null) {
+            return null;
+        }
+
+        try {
+            Long userId = jwtTokenProvider.getIdFromToken(token);
+            return userId + ":" + request.getRequestURI() + ":"
+                    + request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    // 서버 오류가 아닌 응답만 저장, 서버 오류라면 표시를 지워 재시도가 다시 처리되도록 함
+    private void execute(HttpServletRequest request,
+                         HttpServletResponse response,
+                         FilterChain chain,
+                         String key) throws ServletException, IOException {
+
+        // 컨트롤러가 읽은 본문을 보관해 두었다가 응답과 함께 해시를 저장
+        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(requestWrapper, responseWrapper);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyRedisRepository.delete(key);
+            throw e;
+        }
+
+        if (responseWrapper.getStatus() < HttpServletResponse.SC_INTERNAL_SERVER_ERROR) {
+            // 컨트롤러가 끝까지 읽지 않은 본문이 있다면 마저 읽어 재시도와 같은 기준으로 해시
+            StreamUtils.drain(requestWrapper.getInputStream());
+            IdempotentResponseDto idempotentResponse = IdempotentResponseDto.of(
+                    hash(requestWrapper.getContentAsByteArray()),
+                    responseWrapper.getStatus(),
+                    responseWrapper.getContentType(),
+                    replayableHeaders(responseWrapper),
+                    responseWrapper.getContentAsByteArray());
+            idempotencyRedisRepository.save(key,
+                    objectMapper.writeValueAsString(idempotentResponse),
+                    TimeUnit.HOURS.toSeconds(ttlHours));
+        } else {
+            idempotencyRedisRepository.delete(key);
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private Map<String, List<String>> replayableHeaders(HttpServletResponse response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : new LinkedHashSet<>(response.getHeaderNames())) {
+            if (!NOT_REPLAYED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private void replay(HttpServletResponse response, IdempotentResponseDto idempotentResponse) throws IOException {
+        response.setStatus(idempotentResponse.getStatus());
+        if (idempotentResponse.getContentType() != null) {
+            response.setContentType(idempotentResponse.getContentType());
+        }
+        if (idempotentResponse.getHeaders() != null) {
+            idempotentResponse.getHeaders().forEach((name, values) ->
+                    values.forEach(value -> response.addHeader(name, value)));
+        }
+        response.setHeader(IDEMPOTENT_REPLAYED_HEADER, "true");
+        response.setContentLength(idempotentResponse.getBody().length);
+        response.getOutputStream().write(idempotentResponse.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .errorCode(errorCode)
+                .message(errorCode.getMessage())
+                .build();
+
+        response.setStatus(errorCode.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
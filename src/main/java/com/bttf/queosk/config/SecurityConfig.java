@@ -31,13 +31,16 @@ public class SecurityConfig {
                                 "/api/user/order",               // 사용자 주문 등록
                                 "/api/restaurants/*/queue",      // 사용자 웨이팅 등록
                                 "/api/restaurants/*/user/queue", // 사용자 웨이팅 취소
+                                "/api/restaurants/*/user/queue/subscribe", // 사용자 웨이팅 순서 구독
                                 "/api/users"                    // 사용자 본인 정보관련
                         ).hasRole("USER")
                         //매장 접근만 허용
                         .antMatchers(
                                 "/api/restaurants/menus/*",        // 메뉴 관리 api
                                 "/api/restaurant/order/*",         // 매장 주문관리
+                                "/api/restaurant/orders/subscribe",// 매장 주문 실시간 구독
                                 "/api/restaurants/queue",          // 매장 큐 관리
+                                "/api/restaurants/queue/rebuild",  // 매장 큐 재구성
                                 "/api/restaurants/image",          // 매장 이미지 추가
                                 "/api/restaurants",                // 매장 정보 관리
                                 "/api/restaurants/settlement/*",   // 매장 정산 관리
@@ -56,6 +59,10 @@ public class SecurityConfig {
                                 "/**/menus",                      // 메뉴 조회
                                 "/api/restaurants/coord",         // 매장 조회 (좌표)
                                 "/api/restaurants/keyword",       // 매장 조회 (키워드)
+                                "/api/restaurants/coord/cursor",  // 매장 조회 (좌표, 커서)
+                                "/api/restaurants/keyword/cursor",// 매장 조회 (키워드, 커서)
+                                "/api/restaurants/clusters",      // 지도 타일별 매장 집계
+                                "/api/restaurants/queue/counts",  // 매장 웨이팅 수 일괄 조회
                                 "/api/restaurants/*/menus",       // 매장 메뉴 조회
                                 "/api/restaurants/*/details",     // 매장 상세조회
                                 "/api/reviews/restaurants/**",     // 매장 리뷰 조회
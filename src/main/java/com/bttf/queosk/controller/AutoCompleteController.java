@@ -1,11 +1,13 @@
 package com.bttf.queosk.controller;
 
+import com.bttf.queosk.config.JwtTokenProvider;
 import com.bttf.queosk.dto.AutoCompleteDto;
 import com.bttf.queosk.dto.AutoCompleteResponseForm;
 import com.bttf.queosk.service.AutoCompleteService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,6 +21,7 @@ import static org.springframework.http.HttpStatus.OK;
 public class AutoCompleteController {
 
     private final AutoCompleteService autoCompleteService;
+    private final JwtTokenProvider jwtTokenProvider;
 
     @GetMapping
     @ApiOperation(value = "검색어 자동완성", notes = "주어진 검색어의 일부로 식당이름을 자동완성합니다.")
@@ -27,6 +30,20 @@ public class AutoCompleteController {
         return ResponseEntity.status(OK).body(AutoCompleteResponseForm.of(autoCompleteDto));
     }
 
+    @PostMapping("/selection")
+    @ApiOperation(value = "자동완성 검색어 선택 기록",
+            notes = "사용자가 선택한 자동완성 단어의 인기 점수를 올립니다. 최근 선택일수록 높게 반영되며, " +
+                    "같은 사용자가 같은 단어를 반복 선택하면 일정 시간 동안 한 번만 반영됩니다.")
+    public ResponseEntity<Void> selectAutoCompleteWord(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @RequestParam String word) {
+
+        Long userId = jwtTokenProvider.getIdFromToken(token);
+
+        autoCompleteService.selectAutoCompleteWord(userId, word);
+        return ResponseEntity.status(OK).build();
+    }
+
     @PostMapping
     @ApiOperation(value = "검색어 자동완성단어 임의삽입",
             notes = "검색어로 사용될 단어를 직접 삽입합니다.(식당회원가입시엔 자동삽입되므로 해당 api호출 불 필요)")
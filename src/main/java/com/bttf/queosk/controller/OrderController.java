@@ -5,12 +5,15 @@ import com.bttf.queosk.config.JwtTokenProvider;
 import com.bttf.queosk.dto.*;
 import com.bttf.queosk.enumerate.OrderStatus;
 import com.bttf.queosk.service.OrderService;
+import com.bttf.queosk.service.OrderSubscriptionService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,6 +26,7 @@ import static org.springframework.http.HttpStatus.OK;
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final OrderSubscriptionService orderSubscriptionService;
     private final JwtTokenProvider jwtTokenProvider;
 
     @PostMapping("api/user/order")
@@ -67,13 +71,15 @@ public class OrderController {
     }
 
     @GetMapping("api/restaurant/orders/today")
-    @ApiOperation(value = "매장 금일 주문 리스트 확인", notes = "매장에서 오늘 주문한 리스트를 확인합니다")
+    @ApiOperation(value = "매장 금일 주문 리스트 확인", notes = "매장에서 오늘 주문한 리스트를 확인합니다. size 를 지정하지 않으면 전체 목록을 반환합니다.")
     public ResponseEntity<List<OrderListResponseForm>> readTodayOrderList(
-            @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size) {
 
         Long restaurantId = jwtTokenProvider.getIdFromToken(token);
 
-        List<OrderDto> orderDtoList = orderService.readTodayOrderList(restaurantId);
+        List<OrderDto> orderDtoList = orderService.readTodayOrderList(restaurantId, page, size);
 
         List<OrderListResponseForm> responses = orderDtoList
                 .stream()
@@ -84,13 +90,15 @@ public class OrderController {
     }
 
     @GetMapping("api/restaurant/orders/in-progress")
-    @ApiOperation(value = "매장 주문처리중 리스트 확인", notes = "매장에서 현재 주문처리중인 주문의 리스트를 확인합니다")
+    @ApiOperation(value = "매장 주문처리중 리스트 확인", notes = "매장에서 현재 주문처리중인 주문의 리스트를 확인합니다. size 를 지정하지 않으면 전체 목록을 반환합니다.")
     public ResponseEntity<List<OrderListResponseForm>> readInProgressOrderList(
-            @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size) {
 
         Long restaurantId = jwtTokenProvider.getIdFromToken(token);
 
-        List<OrderDto> inProgressOrderDtoList = orderService.readInProgressOrderList(restaurantId);
+        List<OrderDto> inProgressOrderDtoList = orderService.readInProgressOrderList(restaurantId, page, size);
 
         List<OrderListResponseForm> responses = inProgressOrderDtoList
                 .stream().map(OrderListResponseForm::of)
@@ -100,13 +108,15 @@ public class OrderController {
     }
 
     @GetMapping("api/restaurant/orders/today-done")
-    @ApiOperation(value = "매장 금일 주문 처리 완료 리스트 확인", notes = "매장에서 오늘 주문 처리 완료한 리스트를 확인합니다")
+    @ApiOperation(value = "매장 금일 주문 처리 완료 리스트 확인", notes = "매장에서 오늘 주문 처리 완료한 리스트를 확인합니다. size 를 지정하지 않으면 전체 목록을 반환합니다.")
     public ResponseEntity<List<OrderListResponseForm>> readTodayDoneList(
-            @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size) {
 
         Long restaurantId = jwtTokenProvider.getIdFromToken(token);
 
-        List<OrderDto> doneList = orderService.readItodayDoneList(restaurantId);
+        List<OrderDto> doneList = orderService.readItodayDoneList(restaurantId, page, size);
 
         List<OrderListResponseForm> responses = doneList
                 .stream().map(OrderListResponseForm::of)
@@ -114,4 +124,16 @@ public class OrderController {
 
         return ResponseEntity.status(OK).body(responses);
     }
+
+    @GetMapping(value = "api/restaurant/orders/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "매장 주문 실시간 구독",
+            notes = "주문 생성, 상태 변경을 SSE 로 전송합니다. 재연결 시 Last-Event-ID 이후의 이벤트부터 이어서 전송합니다.")
+    public SseEmitter subscribeOrders(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        Long restaurantId = jwtTokenProvider.getIdFromToken(token);
+
+        return orderSubscriptionService.subscribe(restaurantId, lastEventId);
+    }
 }
@@ -2,15 +2,20 @@ package com.bttf.queosk.controller;
 
 import com.bttf.queosk.config.JwtTokenProvider;
 import com.bttf.queosk.dto.*;
+import com.bttf.queosk.service.QueueRecoveryService;
 import com.bttf.queosk.service.QueueService;
+import com.bttf.queosk.service.QueueSubscriptionService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.*;
 
@@ -20,6 +25,8 @@ import static org.springframework.http.HttpStatus.*;
 @RestController
 public class QueueController {
     private final QueueService queueService;
+    private final QueueSubscriptionService queueSubscriptionService;
+    private final QueueRecoveryService queueRecoveryService;
     private final JwtTokenProvider jwtTokenProvider;
 
     @PostMapping("/restaurants/{restaurantId}/queue")
@@ -38,13 +45,18 @@ public class QueueController {
 
     @GetMapping("/restaurants/queue")
     @ApiOperation(value = "가게의 현재 웨이팅 팀들의 정보를 알 수 있습니다.",
-            notes = "가게의 현재 웨이팅 팀들의 정보를 알 수 있습니다.")
+            notes = "가게의 현재 웨이팅 팀들의 정보를 알 수 있습니다. size 를 지정하면 페이지 단위로 조회합니다.")
     public ResponseEntity<QueueListResponseForm> queueTeamListInfoList(
-            @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", required = false) Integer size) {
 
         Long restaurantId = jwtTokenProvider.getIdFromToken(token);
 
-        QueueListDto queueListDto = queueService.getQueueList(restaurantId);
+        // size 가 주어진 경우에만 페이지 단위로 조회
+        QueueListDto queueListDto = size == null ?
+                queueService.getQueueList(restaurantId) :
+                queueService.getQueueList(restaurantId, page, size);
 
         return ResponseEntity.status(OK).body(QueueListResponseForm.of(queueListDto));
     }
@@ -62,6 +74,16 @@ public class QueueController {
                 QueueOfRestaurantResponseForm.of(queueListDto.getTotalQueue()));
     }
 
+    @GetMapping("/restaurants/queue/counts")
+    @ApiOperation(value = "여러 식당 웨이팅 수 확인",
+            notes = "목록, 지도 화면의 여러 식당(최대 300개) 웨이팅 수를 한 번에 알 수 있습니다.")
+    public ResponseEntity<QueueCountListResponseForm> queueCounts(
+            @RequestParam("restaurantIds") List<Long> restaurantIds) {
+
+        return ResponseEntity.status(OK).body(
+                QueueCountListResponseForm.of(queueService.getQueueCounts(restaurantIds)));
+    }
+
     @GetMapping("/restaurants/{restaurantId}/user/queue")
     @ApiOperation(value = "유저의 웨이팅 순서를 알 수 있습니다.", notes = "현재 유저의 웨이팅 순서를 알 수 있습니다.")
     public ResponseEntity<QueueIndexResponseForm> queueUserWaitingNumberList(
@@ -76,6 +98,19 @@ public class QueueController {
         return ResponseEntity.status(OK).body(QueueIndexResponseForm.of(queueIndexDto));
     }
 
+    @GetMapping(value = "/restaurants/{restaurantId}/user/queue/subscribe",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "유저의 웨이팅 순서를 실시간으로 구독합니다.",
+            notes = "대기열이 당겨지거나 취소될 때마다 변경된 웨이팅 순서를 SSE 로 전송합니다.")
+    public SseEmitter queueUserWaitingNumberSubscribe(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token,
+            @PathVariable Long restaurantId) {
+
+        Long userId = jwtTokenProvider.getIdFromToken(token);
+
+        return queueSubscriptionService.subscribe(restaurantId, userId);
+    }
+
     @DeleteMapping("/restaurants/{restaurantId}/user/queue")
     @ApiOperation(value = "사용자 본인의 웨이팅을 취소합니다.", notes = "사용자가 본인의 웨이팅을 취소합니다.")
     public ResponseEntity<Void> queueUserWaitingNumberRemove(
@@ -102,6 +137,19 @@ public class QueueController {
         return ResponseEntity.status(NO_CONTENT).build();
     }
 
+    @PostMapping("/restaurants/queue/rebuild")
+    @ApiOperation(value = "매장 대기열 재구성",
+            notes = "Redis 대기열이 사라진 경우 웨이팅 이력을 기준으로 매장의 대기열을 다시 구성합니다. (Redis 장애 복구용)")
+    public ResponseEntity<Void> queueRebuild(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String token) {
+
+        Long restaurantId = jwtTokenProvider.getIdFromToken(token);
+
+        queueRecoveryService.rebuild(restaurantId);
+
+        return ResponseEntity.status(NO_CONTENT).build();
+    }
+
     @GetMapping("/users/queue")
     @ApiOperation(value = "사용자 본인의 현재 진행중인 웨이팅 조회", notes = "현재 사용자의 웨이팅이 진행중인 목록을 반환합니다.")
     public ResponseEntity<QueueOfUserResponseForm> userQueues(
@@ -3,7 +3,6 @@ package com.bttf.queosk.controller;
 import com.bttf.queosk.config.JwtTokenProvider;
 import com.bttf.queosk.dto.*;
 import com.bttf.queosk.enumerate.RestaurantCategory;
-import com.bttf.queosk.service.AutoCompleteService;
 import com.bttf.queosk.service.RefreshTokenService;
 import com.bttf.queosk.service.RestaurantService;
 import io.swagger.annotations.Api;
@@ -17,6 +16,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Valid;
 import java.io.IOException;
+import java.util.List;
 
 import static org.springframework.http.HttpStatus.*;
 
@@ -28,7 +28,6 @@ public class RestaurantController {
 
     private final RestaurantService restaurantService;
     private final RefreshTokenService refreshTokenService;
-    private final AutoCompleteService autoCompleteService;
     private final JwtTokenProvider jwtTokenProvider;
 
     @PostMapping("/signup")
@@ -37,7 +36,6 @@ public class RestaurantController {
             @Valid @RequestBody RestaurantSignUpRequestForm restaurantSignUpRequest) throws Exception {
 
         restaurantService.signUp(restaurantSignUpRequest);
-        autoCompleteService.addAutoCompleteWord(restaurantSignUpRequest.getRestaurantName());
         return ResponseEntity.status(CREATED).build();
     }
 
@@ -117,13 +115,6 @@ public class RestaurantController {
 
         restaurantService.deleteRestaurant(token);
 
-        Long restaurantId = jwtTokenProvider.getIdFromToken(token);
-
-        RestaurantDetailsDto restaurantInfoAndMenu =
-                restaurantService.getRestaurantInfoAndMenu(restaurantId);
-
-        autoCompleteService.deleteAutoCompleteWord(restaurantInfoAndMenu.getRestaurantDto().getRestaurantName());
-
         return ResponseEntity.status(NO_CONTENT).build();
     }
 
@@ -174,6 +165,55 @@ public class RestaurantController {
         return ResponseEntity.status(OK).body(responsePage);
     }
 
+    @GetMapping("/coord/cursor")
+    @ApiOperation(value = "매장 검색(카테고리, 커서)",
+            notes = "해당 좌표에서 가까운 순으로 매장 리스트를 제공합니다. 응답의 nextCursor 로 다음 페이지를 조회합니다.")
+    public ResponseEntity<RestaurantCursorResponseForm> getCoordRestaurantCursor(
+            @RequestParam(value = "x", defaultValue = "0") Double x,
+            @RequestParam(value = "y", defaultValue = "0") Double y,
+            @RequestParam(value = "size", defaultValue = "5") int size,
+            @RequestParam(value = "category",  defaultValue = "ALL") String category,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        RestaurantCursorDto restaurantCursorDto = restaurantService
+                .getCoordRestaurantCursor(x, y, size, RestaurantCategory.valueOf(category), cursor);
+
+        return ResponseEntity.status(OK).body(RestaurantCursorResponseForm.of(restaurantCursorDto));
+    }
+
+    @GetMapping("/keyword/cursor")
+    @ApiOperation(value = "매장 검색 (키워드, 커서)",
+            notes = "매장을 검색한 결과를 해당 좌표에서 가까운 순으로 제공합니다. 응답의 nextCursor 로 다음 페이지를 조회합니다.")
+    public ResponseEntity<RestaurantCursorResponseForm> getKeywordRestaurantCursor(
+            @RequestParam(value = "x", defaultValue = "0") Double x,
+            @RequestParam(value = "y", defaultValue = "0") Double y,
+            @RequestParam(value = "size", defaultValue = "5") int size,
+            @RequestParam(value = "category",  defaultValue = "ALL") String category,
+            @RequestParam(value = "keyword", defaultValue = "") String keyword,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        RestaurantCursorDto restaurantCursorDto = restaurantService.getKeywordRestaurantCursor(
+                x, y, size, RestaurantCategory.valueOf(category), keyword, cursor);
+
+        return ResponseEntity.status(OK).body(RestaurantCursorResponseForm.of(restaurantCursorDto));
+    }
+
+    @GetMapping("/clusters")
+    @ApiOperation(value = "지도 타일별 매장 집계",
+            notes = "지도 영역(경도 minX~maxX, 위도 minY~maxY)과 줌 레벨에 맞는 타일별 매장 수, 평균 좌표, 카테고리별 수를 제공합니다.")
+    public ResponseEntity<RestaurantClusterListResponseForm> getRestaurantClusters(
+            @RequestParam(value = "minX") Double minX,
+            @RequestParam(value = "minY") Double minY,
+            @RequestParam(value = "maxX") Double maxX,
+            @RequestParam(value = "maxY") Double maxY,
+            @RequestParam(value = "zoom") int zoom) {
+
+        List<RestaurantClusterDto> clusters =
+                restaurantService.getRestaurantClusters(minX, minY, maxX, maxY, zoom);
+
+        return ResponseEntity.status(OK).body(RestaurantClusterListResponseForm.of(clusters));
+    }
+
     @GetMapping("/{restaurantId}/details")
     @ApiOperation(value = "매장 상세 보기", notes = "해당하는 매장의 정보와 메뉴를 제공합니댜.")
     public ResponseEntity<RestaurantDetailsResponseForm> getRestaurantInfoAndMenu(
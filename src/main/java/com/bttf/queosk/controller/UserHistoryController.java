@@ -7,14 +7,14 @@ import com.bttf.queosk.service.UserHistoryService;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
-
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.OK;
 
@@ -27,13 +27,15 @@ public class UserHistoryController {
     private final UserHistoryService userHistoryService;
 
     @GetMapping
-    @ApiOperation(value = "히스토리 목록조회", notes = "전체 히스토리 목록을 조회합니다.")
+    @ApiOperation(value = "히스토리 목록조회", notes = "히스토리 목록을 최신순으로 조회합니다. hasNext 로 다음 페이지 유무를 확인합니다.")
     public ResponseEntity<?> getUserHistories(
-            @RequestHeader(AUTHORIZATION) String token) {
+            @RequestHeader(AUTHORIZATION) String token,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
 
         Long userId = jwtTokenProvider.getIdFromToken(token);
 
-        List<UserHistoryDto> userHistories = userHistoryService.getUserHistories(userId);
+        Slice<UserHistoryDto> userHistories = userHistoryService.getUserHistories(userId, page, size);
 
         return ResponseEntity.status(OK).body(UserHistoryResponseForm.of(userHistories));
     }
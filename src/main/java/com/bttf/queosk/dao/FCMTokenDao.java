@@ -4,6 +4,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @Repository
 public class FCMTokenDao {
@@ -19,6 +21,11 @@ public class FCMTokenDao {
         return tokenRedisTemplate.opsForValue().get(email);
     }
 
+    // 여러 사용자의 토큰을 MGET 으로 한 번에 조회 (토큰이 없는 사용자는 null)
+    public List<String> getTokens(List<String> emails) {
+        return tokenRedisTemplate.opsForValue().multiGet(emails);
+    }
+
     public void deleteToken(String email) {
         tokenRedisTemplate.delete(email);
     }
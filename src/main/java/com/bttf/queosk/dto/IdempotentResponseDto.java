@@ -0,0 +1,35 @@
+package com.bttf.queosk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotentResponseDto {
+    private String requestHash;
+    private int status;
+    private String contentType;
+    private Map<String, List<String>> headers;
+    private byte[] body;
+
+    public static IdempotentResponseDto of(String requestHash,
+                                           int status,
+                                           String contentType,
+                                           Map<String, List<String>> headers,
+                                           byte[] body) {
+        return IdempotentResponseDto.builder()
+                .requestHash(requestHash)
+                .status(status)
+                .contentType(contentType)
+                .headers(headers)
+                .body(body)
+                .build();
+    }
+}
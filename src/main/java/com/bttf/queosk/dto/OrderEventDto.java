@@ -0,0 +1,69 @@
+package com.bttf.queosk.dto;
+
+import com.bttf.queosk.entity.MenuItem;
+import com.bttf.queosk.entity.Order;
+import com.bttf.queosk.enumerate.OrderStatus;
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "주문 실시간 이벤트 Dto")
+public class OrderEventDto {
+    private Long id;
+    private Long tableId;
+    private Long userId;
+    private OrderStatus orderStatus;
+    private List<Item> menuItems;
+
+    // 주문 생성 이벤트는 메뉴 항목을 함께 전송
+    public static OrderEventDto of(Order order, List<MenuItem> menuItems) {
+        return OrderEventDto.builder()
+                .id(order.getId())
+                .tableId(order.getTableId())
+                .userId(order.getUserId())
+                .orderStatus(order.getStatus())
+                .menuItems(menuItems.stream().map(Item::of).collect(Collectors.toList()))
+                .build();
+    }
+
+    // 상태 변경 이벤트는 변경된 상태만 전송 (메뉴 항목은 이미 받은 주문 생성 이벤트 기준)
+    public static OrderEventDto of(Order order) {
+        return OrderEventDto.builder()
+                .id(order.getId())
+                .tableId(order.getTableId())
+                .userId(order.getUserId())
+                .orderStatus(order.getStatus())
+                .menuItems(Collections.emptyList())
+                .build();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Builder
+    public static class Item {
+        private Long menuId;
+        private String menuName;
+        private Long price;
+        private Integer count;
+
+        public static Item of(MenuItem menuItem) {
+            return Item.builder()
+                    .menuId(menuItem.getMenu().getId())
+                    .menuName(menuItem.getMenu().getName())
+                    .price(menuItem.getMenu().getPrice())
+                    .count(menuItem.getCount())
+                    .build();
+        }
+    }
+}
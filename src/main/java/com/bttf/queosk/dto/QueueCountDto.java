@@ -0,0 +1,24 @@
+package com.bttf.queosk.dto;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "매장별 웨이팅 수 Dto")
+public class QueueCountDto {
+    private Long restaurantId;
+    private Long totalQueue;
+
+    public static QueueCountDto of(Long restaurantId, Long totalQueue) {
+        return QueueCountDto.builder()
+                .restaurantId(restaurantId)
+                .totalQueue(totalQueue == null ? 0L : totalQueue)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.bttf.queosk.dto;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "여러 매장의 웨이팅 수 조회 Response")
+public class QueueCountListResponseForm {
+
+    private List<QueueCountDto> queueCounts;
+
+    public static QueueCountListResponseForm of(List<QueueCountDto> queueCounts) {
+        return QueueCountListResponseForm.builder().queueCounts(queueCounts).build();
+    }
+}
@@ -14,6 +14,7 @@ import lombok.NoArgsConstructor;
 public class QueueIndexDto {
     private Long userQueueIndex;
     private Long queueRemaining;
+    private Long estimatedWaitMinutes;
 
     public static QueueIndexDto of(Long userQueueIndex) {
         return QueueIndexDto.builder()
@@ -21,4 +22,13 @@ public class QueueIndexDto {
                 .userQueueIndex(userQueueIndex)
                 .build();
     }
+
+    public static QueueIndexDto of(Long userQueueIndex, QueueWaitTimeDto queueWaitTimeDto, long nowMillis) {
+        return QueueIndexDto.builder()
+                .queueRemaining(userQueueIndex-1==0?0:userQueueIndex-1)
+                .userQueueIndex(userQueueIndex)
+                .estimatedWaitMinutes(queueWaitTimeDto == null ? null :
+                        queueWaitTimeDto.estimateWaitMinutes(userQueueIndex, nowMillis))
+                .build();
+    }
 }
@@ -14,9 +14,12 @@ import lombok.NoArgsConstructor;
 public class QueueIndexResponseForm {
 
     private Long userQueueIndex;
+    private Long estimatedWaitMinutes;
+
     public static QueueIndexResponseForm of(QueueIndexDto queueIndexDto) {
         return QueueIndexResponseForm.builder()
                 .userQueueIndex(queueIndexDto.getUserQueueIndex() + 1) // 대기번호의 경우 index + 1
+                .estimatedWaitMinutes(queueIndexDto.getEstimatedWaitMinutes())
                 .build();
     }
 }
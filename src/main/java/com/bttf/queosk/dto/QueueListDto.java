@@ -23,4 +23,11 @@ public class QueueListDto {
                 .queueDtoList(queueDtos)
                 .build();
     }
+
+    public static QueueListDto of(List<QueueDto> queueDtos, Integer totalQueue) {
+        return QueueListDto.builder()
+                .totalQueue(totalQueue)
+                .queueDtoList(queueDtos)
+                .build();
+    }
 }
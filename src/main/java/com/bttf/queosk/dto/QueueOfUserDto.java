@@ -21,8 +21,14 @@ public class QueueOfUserDto {
     public static QueueOfUserDto of(Queue queue,
                                     Restaurant restaurant,
                                     Long userWaitingCount) {
+        return of(queue.getId(), restaurant, userWaitingCount);
+    }
+
+    public static QueueOfUserDto of(Long queueId,
+                                    Restaurant restaurant,
+                                    Long userWaitingCount) {
         return QueueOfUserDto.builder()
-                .id(queue.getId())
+                .id(queueId)
                 .restaurantDto(RestaurantDto.of(restaurant))
                 .userQueueIndex(userWaitingCount + 1)
                 .build();
@@ -0,0 +1,43 @@
+package com.bttf.queosk.dto;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "웨이팅 예상 대기시간 통계 Dto")
+public class QueueWaitTimeDto {
+    private Double millisPerSeat;
+    private Double partySize;
+    private Long lastSeatedAt;
+
+    // 통계 해시의 millisPerSeat, partySize, lastSeatedAt 순서의 값으로 생성
+    public static QueueWaitTimeDto of(List<String> values) {
+        return QueueWaitTimeDto.builder()
+                .millisPerSeat(values.get(0) == null ? null : Double.parseDouble(values.get(0)))
+                .partySize(values.get(1) == null ? null : Double.parseDouble(values.get(1)))
+                .lastSeatedAt(values.get(2) == null ? null : Long.parseLong(values.get(2)))
+                .build();
+    }
+
+    // 앞선 팀 수 x 평균 일행 수 x 좌석당 입장 간격, 마지막 입장 이후 흐른 시간은 첫 간격에서 차감
+    public Long estimateWaitMinutes(long waitingIndex, long nowMillis) {
+        if (millisPerSeat == null || partySize == null || lastSeatedAt == null || waitingIndex < 0) {
+            return null;
+        }
+
+        double teamInterval = millisPerSeat * partySize;
+        double firstInterval = Math.max(0, teamInterval - (nowMillis - lastSeatedAt));
+
+        return TimeUnit.MILLISECONDS.toMinutes(
+                Math.round(waitingIndex * teamInterval + firstInterval));
+    }
+}
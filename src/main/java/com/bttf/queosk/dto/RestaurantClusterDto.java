@@ -0,0 +1,38 @@
+package com.bttf.queosk.dto;
+
+import com.bttf.queosk.common.geo.TileCluster;
+import com.bttf.queosk.enumerate.RestaurantCategory;
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "지도 타일별 매장 집계 Dto")
+public class RestaurantClusterDto {
+    private Integer zoom;
+    private Integer tileX;
+    private Integer tileY;
+    private Long count;
+    private Double latitude;
+    private Double longitude;
+    private Map<RestaurantCategory, Long> categoryCounts;
+
+    public static RestaurantClusterDto of(TileCluster tileCluster) {
+        return RestaurantClusterDto.builder()
+                .zoom(tileCluster.getZoom())
+                .tileX(tileCluster.getX())
+                .tileY(tileCluster.getY())
+                .count(tileCluster.getCount())
+                .latitude(tileCluster.getLatitude())
+                .longitude(tileCluster.getLongitude())
+                .categoryCounts(tileCluster.getCategoryCounts())
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.bttf.queosk.dto;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "지도 타일별 매장 집계 Response")
+public class RestaurantClusterListResponseForm {
+
+    private List<RestaurantClusterDto> clusters;
+
+    public static RestaurantClusterListResponseForm of(List<RestaurantClusterDto> clusters) {
+        return RestaurantClusterListResponseForm.builder().clusters(clusters).build();
+    }
+}
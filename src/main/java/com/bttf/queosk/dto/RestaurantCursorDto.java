@@ -0,0 +1,31 @@
+package com.bttf.queosk.dto;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "매장 검색 커서 페이지 Dto")
+public class RestaurantCursorDto {
+    private List<RestaurantDto> restaurants;
+    private String nextCursor;
+    private boolean hasNext;
+    // 첫 페이지에서만 채움
+    private Long totalCount;
+
+    public static RestaurantCursorDto of(List<RestaurantDto> restaurants, String nextCursor, Long totalCount) {
+        return RestaurantCursorDto.builder()
+                .restaurants(restaurants)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .totalCount(totalCount)
+                .build();
+    }
+}
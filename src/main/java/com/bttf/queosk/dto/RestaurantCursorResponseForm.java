@@ -0,0 +1,35 @@
+package com.bttf.queosk.dto;
+
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "매장 검색 커서 페이지 Response")
+public class RestaurantCursorResponseForm {
+
+    private List<RestaurantResponseForm> restaurants;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalCount;
+
+    public static RestaurantCursorResponseForm of(RestaurantCursorDto restaurantCursorDto) {
+        return RestaurantCursorResponseForm.builder()
+                .restaurants(restaurantCursorDto.getRestaurants()
+                        .stream()
+                        .map(RestaurantResponseForm::of)
+                        .collect(Collectors.toList()))
+                .nextCursor(restaurantCursorDto.getNextCursor())
+                .hasNext(restaurantCursorDto.isHasNext())
+                .totalCount(restaurantCursorDto.getTotalCount())
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.bttf.queosk.dto;
+
+import com.bttf.queosk.entity.Restaurant;
+import io.swagger.annotations.ApiModel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@ApiModel(value = "매장 거리 Dto")
+public class RestaurantDistanceDto {
+    private RestaurantDto restaurant;
+    // 정렬에 사용된 거리 (km), 커서도 이 값으로 만들어야 경계의 매장이 누락/중복되지 않음
+    private Double distance;
+
+    public static RestaurantDistanceDto of(Restaurant restaurant, Double distance) {
+        return RestaurantDistanceDto.builder()
+                .restaurant(RestaurantDto.of(restaurant))
+                .distance(distance)
+                .build();
+    }
+}
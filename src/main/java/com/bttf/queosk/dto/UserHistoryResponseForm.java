@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -16,9 +17,12 @@ import java.util.List;
 public class UserHistoryResponseForm {
 
     List<UserHistoryDto> userHistories;
-    public static UserHistoryResponseForm of(List<UserHistoryDto> userHistories) {
+    boolean hasNext;
+
+    public static UserHistoryResponseForm of(Slice<UserHistoryDto> userHistories) {
         return UserHistoryResponseForm.builder()
-                .userHistories(userHistories)
+                .userHistories(userHistories.getContent())
+                .hasNext(userHistories.hasNext())
                 .build();
     }
 }
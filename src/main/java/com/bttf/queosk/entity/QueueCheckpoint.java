@@ -0,0 +1,44 @@
+package com.bttf.queosk.entity;
+
+import com.bttf.queosk.entity.baseentity.BaseTimeEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+
+// 매장별 대기열 재구성 기준점 (lastSequence 까지의 이력을 반영한 대기 순서)
+@Entity
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueueCheckpoint extends BaseTimeEntity {
+    @Id
+    private Long restaurantId;
+
+    @Column(nullable = false)
+    private Long lastSequence;
+
+    // 대기 순서대로 "queueId:userId:등록시각(epoch 초)" 를 콤마로 연결
+    @Lob
+    @Column(nullable = false)
+    private String waitingTeams;
+
+    public static QueueCheckpoint empty(Long restaurantId) {
+        return QueueCheckpoint.builder()
+                .restaurantId(restaurantId)
+                .lastSequence(0L)
+                .waitingTeams("")
+                .build();
+    }
+
+    public void advance(Long lastSequence, String waitingTeams) {
+        this.lastSequence = lastSequence;
+        this.waitingTeams = waitingTeams;
+    }
+}
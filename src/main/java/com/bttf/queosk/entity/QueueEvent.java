@@ -0,0 +1,45 @@
+package com.bttf.queosk.entity;
+
+import com.bttf.queosk.entity.baseentity.BaseTimeEntity;
+import com.bttf.queosk.enumerate.QueueEventType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+// 대기열 변경 이력 (추가만 하며, id 가 재구성 시 적용 순서)
+@Entity
+@Table(indexes = @Index(name = "idx_queue_event_restaurant", columnList = "restaurantId, id"))
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class QueueEvent extends BaseTimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long restaurantId;
+
+    @Column
+    private Long queueId;
+
+    @Column
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private QueueEventType type;
+
+    public static QueueEvent of(Long restaurantId, Long queueId, Long userId, QueueEventType type) {
+        return QueueEvent.builder()
+                .restaurantId(restaurantId)
+                .queueId(queueId)
+                .userId(userId)
+                .type(type)
+                .build();
+    }
+}
@@ -0,0 +1,14 @@
+package com.bttf.queosk.enumerate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum OrderEventType {
+    CREATED("order-created"),
+    STATUS_CHANGED("order-status-changed");
+
+    // SSE 이벤트 이름
+    private final String eventName;
+}
@@ -0,0 +1,8 @@
+package com.bttf.queosk.enumerate;
+
+
+public enum QueueEventType {
+    ENQUEUE,
+    POP,
+    CANCEL
+}
@@ -0,0 +1,7 @@
+package com.bttf.queosk.enumerate;
+
+
+public enum QueueStorageMode {
+    LIST,
+    SORTED_SET
+}
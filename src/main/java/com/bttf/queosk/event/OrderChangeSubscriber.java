@@ -0,0 +1,33 @@
+package com.bttf.queosk.event;
+
+import com.bttf.queosk.service.OrderSubscriptionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+
+import static com.bttf.queosk.event.OrderEventRelay.ORDER_CHANNEL;
+
+@Component
+@RequiredArgsConstructor
+public class OrderChangeSubscriber implements MessageListener {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final OrderSubscriptionService orderSubscriptionService;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(ORDER_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Long restaurantId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        orderSubscriptionService.pushEvents(restaurantId);
+    }
+}
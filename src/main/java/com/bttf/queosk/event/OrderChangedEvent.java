@@ -0,0 +1,14 @@
+package com.bttf.queosk.event;
+
+import com.bttf.queosk.dto.OrderEventDto;
+import com.bttf.queosk.enumerate.OrderEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class OrderChangedEvent {
+    private final Long restaurantId;
+    private final OrderEventType type;
+    private final OrderEventDto order;
+}
@@ -0,0 +1,37 @@
+package com.bttf.queosk.event;
+
+import com.bttf.queosk.repository.OrderEventRedisRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderEventRelay {
+    public static final String ORDER_CHANNEL = "order:changed";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final OrderEventRedisRepository orderEventRedisRepository;
+    private final ObjectMapper objectMapper;
+
+    // 커밋된 주문 변경을 매장 스트림에 기록한 뒤 모든 서버 노드에 알림 (재연결한 태블릿은 스트림에서 이어받음)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void relay(OrderChangedEvent event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event.getOrder());
+        } catch (JsonProcessingException e) {
+            log.warn("Order event serialization failed (orderId: {})", event.getOrder().getId(), e);
+            return;
+        }
+
+        orderEventRedisRepository.append(event.getRestaurantId(), event.getType().name(), payload);
+        redisTemplate.convertAndSend(ORDER_CHANNEL, String.valueOf(event.getRestaurantId()));
+    }
+}
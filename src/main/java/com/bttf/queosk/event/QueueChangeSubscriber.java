@@ -0,0 +1,33 @@
+package com.bttf.queosk.event;
+
+import com.bttf.queosk.service.QueueSubscriptionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+
+import static com.bttf.queosk.event.QueueEventRelay.QUEUE_CHANNEL;
+
+@Component
+@RequiredArgsConstructor
+public class QueueChangeSubscriber implements MessageListener {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final QueueSubscriptionService queueSubscriptionService;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(QUEUE_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Long restaurantId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        queueSubscriptionService.pushPositions(restaurantId);
+    }
+}
@@ -0,0 +1,14 @@
+package com.bttf.queosk.event;
+
+import com.bttf.queosk.enumerate.QueueEventType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class QueueChangedEvent {
+    private final Long restaurantId;
+    private final QueueEventType type;
+    private final Long queueId;
+    private final Long userId;
+}
@@ -0,0 +1,25 @@
+package com.bttf.queosk.event;
+
+import com.bttf.queosk.entity.QueueEvent;
+import com.bttf.queosk.repository.QueueEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class QueueEventRecorder {
+
+    private final QueueEventRepository queueEventRepository;
+
+    // 대기열 변경과 같은 트랜잭션에서 이력을 저장 (롤백되면 이력도 함께 롤백)
+    @EventListener
+    public void record(QueueChangedEvent event) {
+        queueEventRepository.save(QueueEvent.of(
+                event.getRestaurantId(),
+                event.getQueueId(),
+                event.getUserId(),
+                event.getType()
+        ));
+    }
+}
@@ -0,0 +1,26 @@
+package com.bttf.queosk.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import static com.bttf.queosk.enumerate.QueueEventType.ENQUEUE;
+
+@Component
+@RequiredArgsConstructor
+public class QueueEventRelay {
+    public static final String QUEUE_CHANNEL = "queue:changed";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 커밋된 대기열 변경을 모든 서버 노드에 전파 (앞 순서가 바뀌지 않는 등록 이벤트는 제외)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void relay(QueueChangedEvent event) {
+        if (event.getType() == ENQUEUE) {
+            return;
+        }
+        redisTemplate.convertAndSend(QUEUE_CHANNEL, String.valueOf(event.getRestaurantId()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.bttf.queosk.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+
+import static com.bttf.queosk.event.RestaurantEventRelay.RESTAURANT_CHANNEL;
+
+@Component
+@RequiredArgsConstructor
+public class RestaurantChangeSubscriber implements MessageListener {
+
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(RESTAURANT_CHANNEL));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Long restaurantId = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        eventPublisher.publishEvent(RestaurantSyncEvent.of(restaurantId));
+    }
+}
@@ -0,0 +1,11 @@
+package com.bttf.queosk.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 매장 정보(웨이팅 제한, 위치, 이름 등)가 변경되었을 때 발행
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class RestaurantChangedEvent {
+    private final Long restaurantId;
+}
@@ -0,0 +1,24 @@
+package com.bttf.queosk.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class RestaurantEventRelay {
+    public static final String RESTAURANT_CHANNEL = "restaurant:changed";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 커밋된 매장 변경을 모든 서버 노드에 전파
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void relay(RestaurantChangedEvent event) {
+        if (event.getRestaurantId() == null) {
+            return;
+        }
+        redisTemplate.convertAndSend(RESTAURANT_CHANNEL, String.valueOf(event.getRestaurantId()));
+    }
+}
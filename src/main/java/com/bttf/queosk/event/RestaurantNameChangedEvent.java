@@ -0,0 +1,12 @@
+package com.bttf.queosk.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 매장 이름이 생기거나(가입) 바뀌거나(수정) 사라질 때(탈퇴) 발행, 없는 쪽은 null
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class RestaurantNameChangedEvent {
+    private final String previousName;
+    private final String currentName;
+}
@@ -0,0 +1,11 @@
+package com.bttf.queosk.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// 어느 노드에서든 매장 정보가 변경되었음을 각 노드 내부에 알림 (메모리 캐시, 색인 갱신용)
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class RestaurantSyncEvent {
+    private final Long restaurantId;
+}
@@ -34,6 +34,10 @@ public enum ErrorCode {
     INVALID_RESTAURANT(HttpStatus.NOT_FOUND, "존재하지 않는 상점입니다."),
     OWNER_NAME_NOT_MATCH(HttpStatus.BAD_REQUEST, "매장 계정 사용자 이름이 일치 하지 않습니다."),
     RESTAURANT_CLOSED(HttpStatus.BAD_REQUEST, "현재 매장이 운영 전입니다."),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "올바르지 않은 페이지 커서입니다."),
+    TOO_MANY_TILES(HttpStatus.BAD_REQUEST, "지도 영역이 줌 레벨에 비해 너무 넓습니다."),
+    INVALID_ZOOM_LEVEL(HttpStatus.BAD_REQUEST, "줌 레벨은 0 이상 18 이하여야 합니다."),
+    INVALID_MAP_BOUNDS(HttpStatus.BAD_REQUEST, "지도 영역의 최솟값이 최댓값보다 클 수 없습니다."),
     ALL_IS_BLOCKED(HttpStatus.BAD_REQUEST, "매장 카테고리 ALL은 검색용입니다. 관리자에게 문의하세요."),
 
     // Cart 관련 Exception
@@ -46,6 +50,7 @@ public enum ErrorCode {
     MENU_NOT_FOUND(HttpStatus.NOT_FOUND, "아직 해당 식당에 대한 메뉴가 등록되지 않습니다."),
     UNAUTHORIZED_SERVICE(HttpStatus.BAD_REQUEST, "본인매장의 메뉴만 수정할 수 있습니다."),
     MENU_SOLD_OUT(HttpStatus.BAD_REQUEST, "해당 매뉴가 매진되었습니다."),
+    MENU_RESTAURANT_NOT_MATCH(HttpStatus.BAD_REQUEST, "주문한 매장의 메뉴가 아닙니다."),
 
     // Order 관련 Exception
     ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "해당 주문이 등록되지 않았습니다."),
@@ -57,6 +62,8 @@ public enum ErrorCode {
     INVALID_WAITING(HttpStatus.NOT_FOUND, "존재하지 않는 웨이팅입니다."),
     QUEUE_ALREADY_EXISTS(HttpStatus.BAD_REQUEST, "이미 해당 식당에 웨이팅 신청을 해 놓은 상태입니다."),
     QUEUE_DOESNT_EXIST(HttpStatus.NOT_FOUND, "존재하지 않는 웨이팅입니다."),
+    QUEUE_IS_FULL(HttpStatus.BAD_REQUEST, "매장의 웨이팅이 가득 찼습니다."),
+    TOO_MANY_RESTAURANTS(HttpStatus.BAD_REQUEST, "한 번에 조회할 수 있는 매장 수를 초과했습니다."),
 
     // Review 관련 Exception
     INVALID_REVIEW(HttpStatus.NOT_FOUND, "해당 리뷰가 존재하지 않습니다."),
@@ -69,6 +76,16 @@ public enum ErrorCode {
     REVIEW_RESTAURANT_NOT_MATCH(HttpStatus.BAD_REQUEST, "리뷰 대상 매장의 점주가 아닙니다."),
     COMMENT_RESTAURANT_NOT_MATCH(HttpStatus.BAD_REQUEST, "해당 코멘트의 작성자가 아닙니다."),
 
+    // AutoComplete 관련 Exception
+    AUTOCOMPLETE_WORD_NOT_FOUND(HttpStatus.NOT_FOUND, "등록되지 않은 검색어입니다."),
+
+    // Idempotency 관련 Exception
+    IDEMPOTENT_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "같은 요청이 처리중입니다. 잠시 후 다시 시도해주세요."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "이미 사용된 멱등키로 다른 내용의 요청을 보낼 수 없습니다."),
+
+    // 페이지 관련 Exception
+    INVALID_PAGE_REQUEST(HttpStatus.BAD_REQUEST, "페이지 번호는 0 이상, 페이지 크기는 1 이상이어야 합니다."),
+
     // 미정의 Exception
     UNDEFINED_EXCEPTION(HttpStatus.INTERNAL_SERVER_ERROR, "정의되지 않은 예외가 발생했습니다. 메세지를 참고해주세요."),
 
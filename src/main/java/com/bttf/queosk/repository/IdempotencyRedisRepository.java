@@ -0,0 +1,37 @@
+package com.bttf.queosk.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyRedisRepository {
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    public String find(String key) {
+        return redisTemplate.opsForValue().get(idempotencyKey(key));
+    }
+
+    // 처리중 표시를 선점 (이미 처리중이거나 처리된 요청이면 false)
+    public boolean reserve(String key, long ttlSeconds) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(idempotencyKey(key), IN_PROGRESS, ttlSeconds, TimeUnit.SECONDS));
+    }
+
+    public void save(String key, String response, long ttlSeconds) {
+        redisTemplate.opsForValue().set(idempotencyKey(key), response, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public void delete(String key) {
+        redisTemplate.delete(idempotencyKey(key));
+    }
+
+    private static String idempotencyKey(String key) {
+        return "idempotency:" + key;
+    }
+}
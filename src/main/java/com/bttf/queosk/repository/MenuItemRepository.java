@@ -2,11 +2,19 @@ package com.bttf.queosk.repository;
 
 import com.bttf.queosk.entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findAllByOrderId(Long orderId);
+
+    // 여러 주문의 메뉴 항목을 메뉴, 주문과 함께 한 번에 조회 (주문마다 조회하는 N+1 방지)
+    @Query("SELECT mi FROM MenuItem mi JOIN FETCH mi.menu JOIN FETCH mi.order " +
+            "WHERE mi.order.id IN :orderIds ORDER BY mi.id")
+    List<MenuItem> findAllWithMenuByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
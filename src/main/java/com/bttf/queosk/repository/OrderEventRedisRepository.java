@@ -0,0 +1,79 @@
+package com.bttf.queosk.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderEventRedisRepository {
+    public static final String TYPE_FIELD = "type";
+    public static final String PAYLOAD_FIELD = "payload";
+    public static final String EMPTY_STREAM_ID = "0-0";
+
+    // 태블릿 재연결 시 이어받을 수 있는 매장별 최근 이벤트 수, 주문이 없는 매장의 스트림은 하루 뒤 만료
+    private static final long MAX_EVENTS = 1000L;
+    private static final long STREAM_TTL_SECONDS = TimeUnit.DAYS.toSeconds(1);
+
+    private static final RedisScript<String> APPEND_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/order-event-append.lua"), String.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 이벤트 추가 후 스트림 ID 반환 (SSE 이벤트 ID 로 사용)
+    public String append(Long restaurantId, String type, String payload) {
+        return redisTemplate.execute(
+                APPEND_SCRIPT,
+                Collections.singletonList(streamKey(restaurantId)),
+                String.valueOf(MAX_EVENTS), String.valueOf(STREAM_TTL_SECONDS), type, payload
+        );
+    }
+
+    // 가장 최근 이벤트 ID (이벤트가 없다면 EMPTY_STREAM_ID)
+    public String findLatestId(Long restaurantId) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .reverseRange(streamKey(restaurantId), Range.unbounded(), Limit.limit().count(1));
+
+        return records == null || records.isEmpty()
+                ? EMPTY_STREAM_ID : records.get(0).getId().getValue();
+    }
+
+    public boolean exists(Long restaurantId, String eventId) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(streamKey(restaurantId), Range.closed(eventId, eventId), Limit.limit().count(1));
+
+        return records != null && !records.isEmpty();
+    }
+
+    // fromId 이후(fromId 포함) 이벤트를 최대 count 개 조회
+    public List<MapRecord<String, Object, Object>> findFrom(Long restaurantId, String fromId, int count) {
+        List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream()
+                .range(streamKey(restaurantId), Range.rightUnbounded(Range.Bound.inclusive(fromId)),
+                        Limit.limit().count(count));
+
+        return records == null ? Collections.emptyList() : records;
+    }
+
+    public static boolean isAfter(String eventId, String otherEventId) {
+        RecordId id = RecordId.of(eventId);
+        RecordId other = RecordId.of(otherEventId);
+        if (!id.getTimestamp().equals(other.getTimestamp())) {
+            return id.getTimestamp() > other.getTimestamp();
+        }
+        return id.getSequence() > other.getSequence();
+    }
+
+    private static String streamKey(Long restaurantId) {
+        return "order:events:" + restaurantId;
+    }
+}
@@ -3,6 +3,8 @@ package com.bttf.queosk.repository;
 import com.bttf.queosk.entity.Order;
 import com.bttf.queosk.entity.Settlement;
 import com.bttf.queosk.enumerate.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,13 +15,13 @@ import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByRestaurantIdAndCreatedAtBetween(Long restaurantId, LocalDateTime startDateTime, LocalDateTime endDateTime);
+    List<Order> findByRestaurantIdAndCreatedAtBetweenOrderByIdAsc(Long restaurantId, LocalDateTime startDateTime, LocalDateTime endDateTime, Pageable pageable);
 
-    List<Order> findByRestaurantIdAndCreatedAtBetweenAndStatus(Long restaurantId, LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
+    List<Order> findByRestaurantIdAndCreatedAtBetweenAndStatusOrderByIdAsc(Long restaurantId, LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus, Pageable pageable);
 
-    List<Order> findAllByRestaurantIdAndStatus(Long restaurantId, OrderStatus orderStatus);
+    List<Order> findAllByRestaurantIdAndStatusOrderByIdAsc(Long restaurantId, OrderStatus orderStatus, Pageable pageable);
 
-    List<Order> findByUserIdAndStatusNotOrderByCreatedAtDesc(Long userId, OrderStatus orderStatus);
+    Slice<Order> findByUserIdAndStatusNotOrderByCreatedAtDesc(Long userId, OrderStatus orderStatus, Pageable pageable);
 
     @Query("SELECT o FROM order o WHERE o.restaurantId = :restaurantId AND o.createdAt >= :fromDate AND o.createdAt <= :toDate")
     List<Order> findOrderByRestaurantInDateRange(
@@ -0,0 +1,15 @@
+package com.bttf.queosk.repository;
+
+import com.bttf.queosk.entity.QueueCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QueueCheckpointRepository extends JpaRepository<QueueCheckpoint, Long> {
+    // 기준점 시점에 대기팀이 남아있던 매장 id
+    @Query("SELECT c.restaurantId FROM QueueCheckpoint c WHERE c.waitingTeams <> ''")
+    List<Long> findRestaurantIdsWithWaitingTeams();
+}
@@ -0,0 +1,18 @@
+package com.bttf.queosk.repository;
+
+import com.bttf.queosk.entity.QueueEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QueueEventRepository extends JpaRepository<QueueEvent, Long> {
+    List<QueueEvent> findByRestaurantIdAndIdGreaterThanOrderByIdAsc(Long restaurantId, Long sequence);
+
+    // 기준점 이후 새 이력이 쌓인 매장 id
+    @Query("SELECT DISTINCT e.restaurantId FROM QueueEvent e WHERE e.id > " +
+            "COALESCE((SELECT c.lastSequence FROM QueueCheckpoint c WHERE c.restaurantId = e.restaurantId), 0)")
+    List<Long> findRestaurantIdsWithEventsAfterCheckpoint();
+}
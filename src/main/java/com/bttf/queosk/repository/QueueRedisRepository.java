@@ -1,35 +1,394 @@
 package com.bttf.queosk.repository;
 
+import com.bttf.queosk.dto.QueueWaitTimeDto;
+import com.bttf.queosk.enumerate.QueueStorageMode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.bttf.queosk.enumerate.QueueStorageMode.SORTED_SET;
 
 @Repository
 @RequiredArgsConstructor
 public class QueueRedisRepository {
+    private static final long QUEUE_TTL_SECONDS = TimeUnit.HOURS.toSeconds(24);
+    private static final long WAIT_TIME_STATS_TTL_SECONDS = TimeUnit.DAYS.toSeconds(7);
+    private static final long MAX_SEATING_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final double SEATING_INTERVAL_DECAY = 0.3;
+
+    private static final RedisScript<Long> ENQUEUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-enqueue.lua"), Long.class);
+    private static final RedisScript<String> POP_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-pop.lua"), String.class);
+    private static final RedisScript<String> CANCEL_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-cancel.lua"), String.class);
+    private static final RedisScript<Long> RANK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-rank.lua"), Long.class);
+    private static final RedisScript<Long> RECORD_SEATING_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-record-seating.lua"), Long.class);
+    private static final RedisScript<Long> RESTORE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-restore.lua"), Long.class);
+    private static final RedisScript<Long> BACKFILL_OWNERS_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-backfill-owners.lua"), Long.class);
+    private static final RedisScript<Long> MIGRATE_TO_SORTED_SET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-migrate-to-sorted-set.lua"), Long.class);
+    private static final RedisScript<Long> MIGRATE_TO_LIST_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/queue-migrate-to-list.lua"), Long.class);
+
     private final RedisTemplate<String, String> redisTemplate;
 
-    public void createQueue(String restaurantId, String queueId) {
-        redisTemplate.opsForList().rightPush(restaurantId, queueId);
-        redisTemplate.expire(restaurantId, 24, TimeUnit.HOURS);
+    // LIST : 기존 리스트 방식(LPOS 순서조회 O(n)), SORTED_SET : 티켓번호 정렬셋 방식(순서조회 O(log n))
+    @Value("${queue.storage-mode:LIST}")
+    private QueueStorageMode storageMode;
+
+    public static final long ALREADY_WAITING = -1L;
+    public static final long QUEUE_FULL = -2L;
+    public static final long RESTORE_SKIPPED = -1L;
+
+    // 중복, 정원 확인 후 대기열 등록 (등록된 인덱스 반환, 이미 대기중이면 ALREADY_WAITING, 정원 초과면 QUEUE_FULL)
+    public Long enqueue(String restaurantId, String userId, String queueId, long maxWaiting) {
+        return redisTemplate.execute(
+                ENQUEUE_SCRIPT,
+                queueKeys(restaurantId),
+                storageMode.name(), String.valueOf(QUEUE_TTL_SECONDS), userId, queueId,
+                String.valueOf(maxWaiting)
+        );
     }
 
     public List<String> findAll(String restaurantId) {
+        if (isSortedSetMode()) {
+            Set<String> queueIds = redisTemplate.opsForZSet().range(waitingKey(restaurantId), 0, -1);
+            return queueIds == null ? Collections.emptyList() : new ArrayList<>(queueIds);
+        }
         return redisTemplate.opsForList().range(restaurantId, 0, -1);
     }
 
+    // 대기열의 일부 구간만 조회 (start, end 모두 포함)
+    public List<String> findRange(String restaurantId, long start, long end) {
+        if (isSortedSetMode()) {
+            Set<String> queueIds = redisTemplate.opsForZSet().range(waitingKey(restaurantId), start, end);
+            return queueIds == null ? Collections.emptyList() : new ArrayList<>(queueIds);
+        }
+        return redisTemplate.opsForList().range(restaurantId, start, end);
+    }
+
+    // 여러 매장의 대기 순서를 파이프라인으로 한 번에 조회 (대기중이 아니라면 null)
+    public List<Long> getUserWaitingCounts(List<String> restaurantIds, List<String> queueIds) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (int i = 0; i < restaurantIds.size(); i++) {
+                    if (isSortedSetMode()) {
+                        operations.opsForZSet().rank(waitingKey(restaurantIds.get(i)), queueIds.get(i));
+                    } else {
+                        operations.opsForList().indexOf(restaurantIds.get(i), queueIds.get(i));
+                    }
+                }
+                return null;
+            }
+        });
+        return results.stream()
+                .map(result -> result == null ? null : ((Number) result).longValue())
+                .collect(Collectors.toList());
+    }
+
+    // 대기열 전체를 조회하지 않고 길이만 조회 (LLEN / ZCARD)
+    public Long countWaiting(String restaurantId) {
+        if (isSortedSetMode()) {
+            return redisTemplate.opsForZSet().zCard(waitingKey(restaurantId));
+        }
+        return redisTemplate.opsForList().size(restaurantId);
+    }
+
+    // 여러 매장의 대기팀 수를 파이프라인으로 한 번에 조회 (LLEN / ZCARD)
+    public List<Long> countWaitingOfRestaurants(List<String> restaurantIds) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String restaurantId : restaurantIds) {
+                    if (isSortedSetMode()) {
+                        operations.opsForZSet().zCard(waitingKey(restaurantId));
+                    } else {
+                        operations.opsForList().size(restaurantId);
+                    }
+                }
+                return null;
+            }
+        });
+        return results.stream()
+                .map(result -> result == null ? 0L : ((Number) result).longValue())
+                .collect(Collectors.toList());
+    }
+
     public Long getUserWaitingCount(String restaurantId, String queueId) {
+        if (isSortedSetMode()) {
+            return redisTemplate.opsForZSet().rank(waitingKey(restaurantId), queueId);
+        }
         return redisTemplate.opsForList().indexOf(restaurantId, queueId);
     }
 
+    // 사용자 해시를 통해 사용자의 대기열 인덱스를 조회 (대기중이 아니라면 null)
+    public Long getUserWaitingIndex(String restaurantId, String userId) {
+        return redisTemplate.execute(RANK_SCRIPT, queueKeys(restaurantId), storageMode.name(), userId);
+    }
+
+    // 여러 사용자의 queueId 를 한 번에 조회 (대기중이 아닌 사용자는 null)
+    public List<String> findQueueIdsOfUsers(String restaurantId, List<String> userIds) {
+        return redisTemplate.<String, String>opsForHash().multiGet(usersKey(restaurantId), userIds);
+    }
+
+    // 여러 대기열의 사용자 id 를 한 번에 조회 (소유자 해시에 없는 대기열은 null)
+    public List<String> findUserIdsOfQueues(String restaurantId, List<String> queueIds) {
+        return redisTemplate.<String, String>opsForHash().multiGet(ownersKey(restaurantId), queueIds);
+    }
+
     public String popTheFirstTeamOfQueue(String restaurantId) {
-        return redisTemplate.opsForList().leftPop(restaurantId);
+        return redisTemplate.execute(POP_SCRIPT, queueKeys(restaurantId), storageMode.name());
+    }
+
+    // 사용자의 웨이팅 취소 (취소된 queueId 반환, 사용자 해시에 없다면 null)
+    public String cancelUserQueue(String restaurantId, String userId) {
+        return redisTemplate.execute(CANCEL_SCRIPT, queueKeys(restaurantId), storageMode.name(), userId);
     }
 
     public void deleteQueue(String restaurantId, String queueId) {
+        if (isSortedSetMode()) {
+            redisTemplate.opsForZSet().remove(waitingKey(restaurantId), queueId);
+            return;
+        }
         redisTemplate.opsForList().remove(restaurantId, 0, queueId);
     }
-}
\ No newline at end of file
+
+    // 사용자별 현재 대기중인 웨이팅 목록("restaurantId:queueId")에 추가
+    public void addActiveQueue(String userId, String restaurantId, String queueId) {
+        String key = activeQueuesKey(userId);
+        redisTemplate.opsForSet().add(key, restaurantId + ":" + queueId);
+        redisTemplate.expire(key, QUEUE_TTL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    public void removeActiveQueue(String userId, String restaurantId, String queueId) {
+        redisTemplate.opsForSet().remove(activeQueuesKey(userId), restaurantId + ":" + queueId);
+    }
+
+    public Set<String> findActiveQueues(String userId) {
+        Set<String> members = redisTemplate.opsForSet().members(activeQueuesKey(userId));
+        return members == null ? Collections.emptySet() : members;
+    }
+
+    // 매장의 소유자 해시로 사용자별 웨이팅 목록을 다시 채움 (목록 도입 이전에 등록된 웨이팅 보정용)
+    public long rebuildActiveQueues(String restaurantId) {
+        Map<String, String> owners =
+                redisTemplate.<String, String>opsForHash().entries(ownersKey(restaurantId));
+        owners.forEach((queueId, userId) -> addActiveQueue(userId, restaurantId, queueId));
+        return owners.size();
+    }
+
+    // 대기팀 입장 시점과 일행 수를 예상 대기시간 통계에 반영
+    public void recordSeating(String restaurantId, Long numberOfParty, long seatedAtMillis) {
+        redisTemplate.execute(
+                RECORD_SEATING_SCRIPT,
+                Collections.singletonList(waitTimeStatsKey(restaurantId)),
+                String.valueOf(seatedAtMillis),
+                String.valueOf(numberOfParty == null ? 1L : numberOfParty),
+                String.valueOf(SEATING_INTERVAL_DECAY),
+                String.valueOf(MAX_SEATING_INTERVAL_MILLIS),
+                String.valueOf(WAIT_TIME_STATS_TTL_SECONDS)
+        );
+    }
+
+    // 예상 대기시간 계산에 필요한 통계를 한 번에 조회 (기록이 없다면 각 값은 null)
+    public QueueWaitTimeDto findWaitTimeStats(String restaurantId) {
+        List<String> values = redisTemplate.<String, String>opsForHash().multiGet(
+                waitTimeStatsKey(restaurantId),
+                Arrays.asList("millisPerSeat", "partySize", "lastSeatedAt")
+        );
+        return QueueWaitTimeDto.of(values);
+    }
+
+    // 대기열 키가 모두 없는 경우에만 이력으로 재구성한 대기 순서로 다시 작성
+    // (복원된 팀 수 반환, 키가 남아있어 복원하지 않았다면 RESTORE_SKIPPED)
+    public Long restoreQueue(String restaurantId, List<String> queueIds, List<String> userIds) {
+        List<String> args = new ArrayList<>();
+        args.add(storageMode.name());
+        args.add(String.valueOf(QUEUE_TTL_SECONDS));
+        for (int i = 0; i < queueIds.size(); i++) {
+            args.add(queueIds.get(i));
+            args.add(userIds.get(i));
+        }
+        return redisTemplate.execute(RESTORE_SCRIPT, queueKeys(restaurantId), args.toArray());
+    }
+
+    // 현재 저장 방식과 다른 방식의 대기열에 남아있는 팀 수를 파이프라인으로 한 번에 조회 (이전 대상 선별용)
+    public List<Long> countWaitingInOtherStorageMode(List<String> restaurantIds) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String restaurantId : restaurantIds) {
+                    if (isSortedSetMode()) {
+                        operations.opsForList().size(restaurantId);
+                    } else {
+                        operations.opsForZSet().zCard(waitingKey(restaurantId));
+                    }
+                }
+                return null;
+            }
+        });
+        return toCounts(results);
+    }
+
+    // 여러 매장의 대기팀 소유자 해시 크기를 파이프라인으로 한 번에 조회 (HLEN)
+    public List<Long> countOwnersOfRestaurants(List<String> restaurantIds) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String restaurantId : restaurantIds) {
+                    operations.opsForHash().size(ownersKey(restaurantId));
+                }
+                return null;
+            }
+        });
+        return toCounts(results);
+    }
+
+    // 여러 매장의 대기팀 중 소유자 해시에 없는 팀 수를 파이프라인으로 한 번에 조회
+    // (두 저장 방식의 대기팀 수 - HLEN, 해시 도입 이전에 등록된 팀이 남아있는 매장 선별용)
+    public List<Long> countUnownedWaitingOfRestaurants(List<String> restaurantIds) {
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String restaurantId : restaurantIds) {
+                    operations.opsForList().size(restaurantId);
+                    operations.opsForZSet().zCard(waitingKey(restaurantId));
+                    operations.opsForHash().size(ownersKey(restaurantId));
+                }
+                return null;
+            }
+        });
+        List<Long> counts = toCounts(results);
+
+        List<Long> unowned = new ArrayList<>(restaurantIds.size());
+        for (int i = 0; i < counts.size(); i += 3) {
+            unowned.add(Math.max(0L, counts.get(i) + counts.get(i + 1) - counts.get(i + 2)));
+        }
+        return unowned;
+    }
+
+    // 두 저장 방식의 대기열에서 소유자 해시에 없는 queueId 조회
+    public List<String> findUnownedQueueIds(String restaurantId) {
+        List<String> queueIds = new ArrayList<>();
+        List<String> listed = redisTemplate.opsForList().range(restaurantId, 0, -1);
+        if (listed != null) {
+            queueIds.addAll(listed);
+        }
+        Set<String> sorted = redisTemplate.opsForZSet().range(waitingKey(restaurantId), 0, -1);
+        if (sorted != null) {
+            queueIds.addAll(sorted);
+        }
+        if (queueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> owners = findUserIdsOfQueues(restaurantId, queueIds);
+        List<String> unowned = new ArrayList<>();
+        for (int i = 0; i < queueIds.size(); i++) {
+            if (owners.get(i) == null) {
+                unowned.add(queueIds.get(i));
+            }
+        }
+        return unowned;
+    }
+
+    // 해시 도입 이전에 등록된 대기팀의 사용자/소유자 해시 항목을 채움 (채워진 팀 수 반환)
+    public Long backfillOwners(String restaurantId, List<String> queueIds, List<String> userIds) {
+        List<String> args = new ArrayList<>();
+        args.add(String.valueOf(QUEUE_TTL_SECONDS));
+        for (int i = 0; i < queueIds.size(); i++) {
+            args.add(queueIds.get(i));
+            args.add(userIds.get(i));
+        }
+        return redisTemplate.execute(BACKFILL_OWNERS_SCRIPT, queueKeys(restaurantId), args.toArray());
+    }
+
+    // 현재 저장 방식과 다른 방식으로 남아있는 대기열 키를 현재 방식으로 이전 (이전된 팀 수 반환)
+    public Long migrateToCurrentStorageMode(String restaurantId) {
+        RedisScript<Long> script = isSortedSetMode() ?
+                MIGRATE_TO_SORTED_SET_SCRIPT :
+                MIGRATE_TO_LIST_SCRIPT;
+
+        return redisTemplate.execute(
+                script,
+                queueKeys(restaurantId),
+                String.valueOf(QUEUE_TTL_SECONDS)
+        );
+    }
+
+    public QueueStorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    private static List<Long> toCounts(List<Object> results) {
+        return results.stream()
+                .map(result -> result == null ? 0L : ((Number) result).longValue())
+                .collect(Collectors.toList());
+    }
+
+    private boolean isSortedSetMode() {
+        return storageMode == SORTED_SET;
+    }
+
+    // 스크립트에 전달하는 키 목록 (순서는 scripts/queue-enqueue.lua 주석 참고)
+    private static List<String> queueKeys(String restaurantId) {
+        return Arrays.asList(
+                restaurantId,
+                waitingKey(restaurantId),
+                ticketKey(restaurantId),
+                usersKey(restaurantId),
+                ownersKey(restaurantId)
+        );
+    }
+
+    // 리스트 외의 키는 해시태그를 사용해 기존 리스트 키(restaurantId)와 같은 클러스터 슬롯에 둠
+    private static String waitingKey(String restaurantId) {
+        return "queue:{" + restaurantId + "}:waiting";
+    }
+
+    private static String ticketKey(String restaurantId) {
+        return "queue:{" + restaurantId + "}:ticket";
+    }
+
+    private static String usersKey(String restaurantId) {
+        return "queue:{" + restaurantId + "}:users";
+    }
+
+    private static String ownersKey(String restaurantId) {
+        return "queue:{" + restaurantId + "}:owners";
+    }
+
+    // 사용자 단위 키이므로 매장 대기열 키와는 다른 슬롯에 위치
+    private static String activeQueuesKey(String userId) {
+        return "queue:user:{" + userId + "}:active";
+    }
+
+    private static String waitTimeStatsKey(String restaurantId) {
+        return "queue:{" + restaurantId + "}:wait-time";
+    }
+}
@@ -2,8 +2,11 @@ package com.bttf.queosk.repository;
 
 import com.bttf.queosk.entity.Queue;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +15,9 @@ public interface QueueRepository extends JpaRepository<Queue, Long> {
     Optional<Queue> findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(Long userId, Long restaurantId);
 
     List<Queue> findByUserId(Long userId);
+
+    // 지정한 시각 이후 입장 처리된 사용자의 웨이팅 (입장 안내 화면 표시용)
+    @Query("SELECT q FROM Queue q WHERE q.userId = :userId AND q.isDone = true AND q.updatedAt > :since")
+    List<Queue> findDoneQueuesOfUserSince(@Param("userId") Long userId,
+                                          @Param("since") LocalDateTime since);
 }
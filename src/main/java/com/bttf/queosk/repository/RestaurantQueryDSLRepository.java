@@ -1,8 +1,13 @@
 package com.bttf.queosk.repository;
 
+import com.bttf.queosk.common.geo.GeoSearchResult;
+import com.bttf.queosk.common.geo.RestaurantGeoIndex;
+import com.bttf.queosk.dto.RestaurantDistanceDto;
 import com.bttf.queosk.entity.QRestaurant;
 import com.bttf.queosk.entity.Restaurant;
 import com.bttf.queosk.enumerate.RestaurantCategory;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.impl.JPAQuery;
@@ -14,8 +19,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.querydsl.core.types.dsl.MathExpressions.*;
 
@@ -25,11 +35,23 @@ public class RestaurantQueryDSLRepository {
 
     private final EntityManager entityManager;
     private final JPAQueryFactory queryFactory;
+    private final RestaurantGeoIndex restaurantGeoIndex;
     private final QRestaurant qRestaurant = QRestaurant.restaurant;
     private static final String ALL_CATEGORIES = "ALL";
 
     public Page<Restaurant> getRestaurantListByDistance(
             double lng, double lat, Pageable pageable, String category, String keyword) {
+
+        // 좌표 색인으로 후보를 좁혀 거리순 id 를 구한 뒤 해당 매장만 조회
+        if (restaurantGeoIndex.isReady()) {
+            GeoSearchResult result = restaurantGeoIndex.search(
+                    lat, lng, RestaurantCategory.valueOf(category), keyword,
+                    pageable.getOffset(), pageable.getPageSize());
+
+            return new PageImpl<>(findAllInOrder(result.getRestaurantIds()), pageable, result.getTotalCount());
+        }
+
+        // 색인 적재 전에는 DB 에서 직접 거리 계산
         JPAQuery<Restaurant> query = queryFactory.selectFrom(qRestaurant);
 
         NumberExpression<Double> distance = calculateDistance(lat, lng);
@@ -44,31 +66,122 @@ public class RestaurantQueryDSLRepository {
         return new PageImpl<>(results, pageable, totalCount);
     }
 
+    // (거리, id) 커서 다음의 매장을 거리순으로 limit 개 조회 (OFFSET, 전체 건수 조회 없음)
+    // 커서는 정렬에 사용한 거리로 만들어야 하므로 매장과 함께 그 거리를 반환
+    public List<RestaurantDistanceDto> getRestaurantListByDistanceAfter(
+            double lng, double lat, int limit, String category, String keyword,
+            Double afterDistance, Long afterId) {
+
+        if (restaurantGeoIndex.isReady()) {
+            GeoSearchResult result = restaurantGeoIndex.searchAfter(
+                    lat, lng, RestaurantCategory.valueOf(category), keyword, afterDistance, afterId, limit);
+
+            return findAllWithDistance(result.getRestaurantIds(), result.getDistances());
+        }
+
+        NumberExpression<Double> distance = calculateDistance(lat, lng);
+        JPAQuery<Tuple> query = queryFactory.select(qRestaurant, distance).from(qRestaurant);
+
+        addCategoryFilter(query, category);
+        addKeywordFilter(query, keyword);
+        if (afterDistance != null) {
+            query.where(distance.gt(afterDistance)
+                    .or(distance.eq(afterDistance).and(qRestaurant.id.gt(afterId))));
+        }
+
+        return query.where(distance.isNotNull())
+                .orderBy(distance.asc(), qRestaurant.id.asc())
+                .limit(limit)
+                .fetch()
+                .stream()
+                .map(tuple -> RestaurantDistanceDto.of(tuple.get(qRestaurant), tuple.get(distance)))
+                .collect(Collectors.toList());
+    }
+
+    // 조건에 맞는 전체 매장 수 (색인 적재 후에는 색인의 값을 사용)
+    public long countRestaurants(String category, String keyword) {
+        if (restaurantGeoIndex.isReady()) {
+            return restaurantGeoIndex.count(RestaurantCategory.valueOf(category), keyword);
+        }
+
+        JPAQuery<Restaurant> query = queryFactory.selectFrom(qRestaurant);
+        addCategoryFilter(query, category);
+        addKeywordFilter(query, keyword);
+        return query.fetchCount();
+    }
+
+    private List<Restaurant> findAllInOrder(List<Long> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Restaurant> restaurants = queryFactory.selectFrom(qRestaurant)
+                .where(qRestaurant.id.in(restaurantIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+
+        return restaurantIds.stream()
+                .map(restaurants::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private List<RestaurantDistanceDto> findAllWithDistance(List<Long> restaurantIds, List<Double> distances) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, Restaurant> restaurants = queryFactory.selectFrom(qRestaurant)
+                .where(qRestaurant.id.in(restaurantIds))
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+
+        List<RestaurantDistanceDto> results = new ArrayList<>();
+        for (int i = 0; i < restaurantIds.size(); i++) {
+            Restaurant restaurant = restaurants.get(restaurantIds.get(i));
+            if (restaurant != null) {
+                results.add(RestaurantDistanceDto.of(restaurant, distances.get(i)));
+            }
+        }
+        return results;
+    }
+
+    // 구면 코사인 법칙 거리 (km), 행의 좌표도 라디안으로 변환
+    // 같은 좌표에서는 부동소수점 오차로 코사인 값이 1 을 넘을 수 있어 acos 전에 [-1, 1] 로 제한 (넘으면 NULL 이 되어 제외됨)
+    // 좌표는 바인드 파라미터로 넘겨 요청마다 같은 JPQL/SQL 이 만들어지도록 함 (쿼리 플랜 캐시 재사용)
     private NumberExpression<Double> calculateDistance(double lat, double lng) {
-        NumberExpression<Double> latExpression = Expressions.numberTemplate(Double.class, String.valueOf(lat));
-        NumberExpression<Double> lngExpression = Expressions.numberTemplate(Double.class, String.valueOf(lng));
+        NumberExpression<Double> latExpression = Expressions.numberTemplate(Double.class, "{0}", lat);
+        NumberExpression<Double> lngExpression = Expressions.numberTemplate(Double.class, "{0}", lng);
         NumberExpression<Double> cosLat = cos(radians(latExpression));
-        NumberExpression<Double> cosLng = cos(radians(lngExpression));
         NumberExpression<Double> sinLat = sin(radians(latExpression));
-        NumberExpression<Double> sinLng = sin(radians(lngExpression));
+        NumberExpression<Double> rowLat = radians(qRestaurant.latitude);
+
+        NumberExpression<Double> cosValue = cosLat
+                .multiply(cos(rowLat))
+                .multiply(cos(radians(qRestaurant.longitude).subtract(radians(lngExpression))))
+                .add(sinLat.multiply(sin(rowLat)));
 
-        NumberExpression<Double> acosValue = cosLat
-                .multiply(cos(qRestaurant.latitude))
-                .multiply(cos(qRestaurant.longitude.subtract(lng)))
-                .add(sinLat.multiply(sin(qRestaurant.latitude)));
+        NumberExpression<Double> one = Expressions.numberTemplate(Double.class, "1.0");
+        NumberExpression<Double> minusOne = Expressions.numberTemplate(Double.class, "-1.0");
+        NumberExpression<Double> clampedCosValue = new CaseBuilder()
+                .when(cosValue.gt(one)).then(one)
+                .when(cosValue.lt(minusOne)).then(minusOne)
+                .otherwise(cosValue);
 
-        return acosValue
+        return acos(clampedCosValue)
                 .multiply(Expressions.numberTemplate(Double.class, "6371")) // 지구 반지름 (km)
                 .doubleValue(); // double 형식으로 변환
     }
 
-    private void addCategoryFilter(JPAQuery<Restaurant> query, String category) {
+    private void addCategoryFilter(JPAQuery<?> query, String category) {
         if (!ALL_CATEGORIES.equals(category)) {
             query.where(qRestaurant.category.eq(RestaurantCategory.valueOf(category)));
         }
     }
 
-    private void addKeywordFilter(JPAQuery<Restaurant> query, String keyword) {
+    private void addKeywordFilter(JPAQuery<?> query, String keyword) {
         if (Objects.nonNull(keyword) && !keyword.isEmpty()) {
             query.where(qRestaurant.restaurantName.contains(keyword));
         }
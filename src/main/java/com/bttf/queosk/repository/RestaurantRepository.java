@@ -5,6 +5,7 @@ import com.google.common.io.Files;
 import io.lettuce.core.dynamic.annotation.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -23,4 +24,12 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     Optional<Restaurant> findByEmail(String email);
 
     List<Restaurant> findByIsDeleted(boolean trueOrFalse);
+
+    @Query("SELECT r.id FROM restaurant r")
+    List<Long> findAllIds();
+
+    @Query("SELECT r.restaurantName FROM restaurant r WHERE r.isDeleted = false ORDER BY r.id")
+    Slice<String> findActiveRestaurantNames(Pageable pageable);
+
+    boolean existsByRestaurantNameAndIsDeleted(String restaurantName, boolean isDeleted);
 }
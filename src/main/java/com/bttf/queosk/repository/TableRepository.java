@@ -1,7 +1,11 @@
 package com.bttf.queosk.repository;
 
 import com.bttf.queosk.entity.Table;
+import com.bttf.queosk.enumerate.TableStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +14,11 @@ import java.util.List;
 public interface TableRepository extends JpaRepository<Table, Long> {
     List<Table> findByRestaurantId(Long restaurantId);
 
+    // 현재 상태가 currentStatus 인 경우에만 상태 변경 (조회 후 변경 사이의 경합 방지, 변경된 행 수 반환)
+    @Modifying
+    @Query("UPDATE table t SET t.status = :status, t.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE t.id = :tableId AND t.status = :currentStatus")
+    int updateStatusIfCurrent(@Param("tableId") Long tableId,
+                              @Param("currentStatus") TableStatus currentStatus,
+                              @Param("status") TableStatus status);
 }
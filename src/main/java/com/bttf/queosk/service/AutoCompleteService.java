@@ -1,49 +1,162 @@
 package com.bttf.queosk.service;
 
+import com.bttf.queosk.common.autocomplete.AutoCompleteIndex;
+import com.bttf.queosk.common.autocomplete.HangulUtils;
 import com.bttf.queosk.dto.AutoCompleteDto;
+import com.bttf.queosk.event.RestaurantNameChangedEvent;
+import com.bttf.queosk.exception.CustomException;
+import com.bttf.queosk.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+import static com.bttf.queosk.common.autocomplete.AutoCompleteIndex.AUTOCOMPLETE_CHANNEL;
+import static com.bttf.queosk.common.autocomplete.AutoCompleteIndex.AUTOCOMPLETE_KEY;
+import static com.bttf.queosk.common.autocomplete.AutoCompleteIndex.AUTOCOMPLETE_RESCALED_CHANNEL;
+import static com.bttf.queosk.exception.ErrorCode.AUTOCOMPLETE_WORD_NOT_FOUND;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AutoCompleteService {
 
+    private static final int BOOTSTRAP_BATCH_SIZE = 1000;
+
     private final RedisTemplate<String, String> redisTemplate;
-    private static final String AUTOCOMPLETE_KEY = "autocomplete";
+    private final AutoCompleteIndex autoCompleteIndex;
+    private final RestaurantRepository restaurantRepository;
+
+    // 인기 점수 감쇠 최초 기준 시각 (2023-01-01T00:00:00Z), 점수는 기준 시각 기준으로 환산해 누적
+    // 현재 기준 시각은 점수 재조정 시 함께 옮겨지므로 Redis 에 보관 (자동완성 ZSET 과 같은 슬롯)
+    static final long DECAY_EPOCH_MILLIS = 1672531200000L;
+    static final String DECAY_EPOCH_KEY = "{" + AUTOCOMPLETE_KEY + "}:epoch";
+    private static final String SELECTION_KEY_PREFIX = "{" + AUTOCOMPLETE_KEY + "}:selected:";
+
+    // 기준 시각 이후 이만큼의 반감기가 지나면 점수를 재조정 (가중치를 2^16 부근 이하로 유지)
+    static final int RESCALE_HALF_LIVES = 16;
+
+    private static final RedisScript<String> SELECT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/autocomplete-select.lua"), String.class);
+    private static final RedisScript<Long> RESCALE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/autocomplete-rescale.lua"), Long.class);
+
+    // 자동완성 결과 최대 개수
+    @Value("${autocomplete.max-results:10}")
+    private int maxResults;
+
+    // 선택 1회의 가중치가 절반이 되는 기간
+    @Value("${autocomplete.half-life-hours:168}")
+    private long halfLifeHours;
+
+    // 같은 사용자의 같은 단어 선택을 한 번만 반영하는 기간
+    @Value("${autocomplete.selection-cooldown-minutes:10}")
+    private long selectionCooldownMinutes;
+
+    // 기동 시 탈퇴하지 않은 매장 이름을 배치 단위 파이프라인으로 사전에 넣은 뒤(ZADD NX, 기존 점수 유지) 메모리 색인 적재
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        Slice<String> names;
+        int page = 0;
+        long total = 0;
+        do {
+            names = restaurantRepository.findActiveRestaurantNames(PageRequest.of(page++, BOOTSTRAP_BATCH_SIZE));
+            addIfAbsent(names.getContent());
+            total += names.getNumberOfElements();
+        } while (names.hasNext());
+
+        log.info("Auto-complete dictionary synced from {} restaurants", total);
+        rescaleScores();
+        autoCompleteIndex.load();
+    }
 
-    private final String[] chs = {
-            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ",
-            "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+    // 오래 지난 기준 시각으로 가중치가 커지지 않도록 모든 점수를 나누고 기준 시각을 옮김 (여러 노드가 실행해도 한 번만 적용)
+    @Scheduled(cron = "0 10 4 * * ?")
+    public void rescaleScores() {
+        Long halfLives = redisTemplate.execute(RESCALE_SCRIPT,
+                Arrays.asList(AUTOCOMPLETE_KEY, DECAY_EPOCH_KEY),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(halfLifeMillis()),
+                String.valueOf(DECAY_EPOCH_MILLIS),
+                String.valueOf(RESCALE_HALF_LIVES));
+        if (halfLives != null && halfLives > 0) {
+            log.info("Auto-complete scores rescaled by 2^-{}", halfLives);
+            redisTemplate.convertAndSend(AUTOCOMPLETE_RESCALED_CHANNEL, String.valueOf(halfLives));
+        }
+    }
+
+    // 매장 가입/이름 변경/탈퇴가 커밋되면 사전에 반영 (같은 이름의 다른 매장이 남아 있다면 유지)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRestaurantNameChanged(RestaurantNameChangedEvent event) {
+        String previousName = event.getPreviousName();
+        if (previousName != null &&
+                !restaurantRepository.existsByRestaurantNameAndIsDeleted(previousName, false)) {
+            deleteAutoCompleteWord(previousName);
+        }
+        if (event.getCurrentName() != null) {
+            addAutoCompleteWord(event.getCurrentName());
+        }
+    }
 
-    //검색어 등록
+    //검색어 등록 (이미 있는 단어라면 인기 점수 유지)
     @Transactional
     public void addAutoCompleteWord(String restaurant) {
-        redisTemplate.opsForZSet().add(AUTOCOMPLETE_KEY, restaurant, 0);
+        redisTemplate.opsForZSet().addIfAbsent(AUTOCOMPLETE_KEY, restaurant, 0);
+        redisTemplate.convertAndSend(AUTOCOMPLETE_CHANNEL, restaurant);
     }
 
     //등록된 검색어 삭제
     @Transactional
     public void deleteAutoCompleteWord(String restaurant) {
         redisTemplate.opsForZSet().remove(AUTOCOMPLETE_KEY, restaurant);
+        redisTemplate.convertAndSend(AUTOCOMPLETE_CHANNEL, restaurant);
     }
 
+    // 선택된 단어의 인기 점수를 올림 (forward decay: 선택 시각이 늦을수록 큰 값을 더해 오래된 선택의 비중을 낮춤)
+    // 가중치 2^((선택 시각 - 기준 시각) / 반감기) 는 기준 시각과 같은 스크립트 안에서 계산
+    public void selectAutoCompleteWord(Long userId, String word) {
+        String score = redisTemplate.execute(SELECT_SCRIPT,
+                Arrays.asList(AUTOCOMPLETE_KEY, DECAY_EPOCH_KEY, SELECTION_KEY_PREFIX + userId + ":" + word),
+                word,
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(halfLifeMillis()),
+                String.valueOf(DECAY_EPOCH_MILLIS),
+                String.valueOf(TimeUnit.MINUTES.toSeconds(selectionCooldownMinutes)));
+        if (score == null) {
+            throw new CustomException(AUTOCOMPLETE_WORD_NOT_FOUND);
+        }
+        redisTemplate.convertAndSend(AUTOCOMPLETE_CHANNEL, word);
+    }
+
+    // Redis 조회 없이 메모리 색인에서 점수 순 상위 결과만 반환
     @Transactional(readOnly = true)
     public AutoCompleteDto autoComplete(String input) {
 
         List<String> matchingKeywords = new ArrayList<>(
-                isKoreanConsonant(input.charAt(0)) ?
-                        searchByConsonant(input) :
-                        searchByGeneral(input)
+                input.isEmpty() ?
+                        Collections.emptyList() :
+                        HangulUtils.isConsonant(input.charAt(0)) ?
+                                searchByConsonant(input) :
+                                searchByGeneral(input)
         );
 
         return AutoCompleteDto.builder()
@@ -51,73 +164,41 @@ public class AutoCompleteService {
                 .build();
     }
 
-
-    private List<String> searchByConsonant(String input) {
-        List<String> matchingKeywords = new ArrayList<>();
-        Set<String> consonantKeywords = redisTemplate.opsForZSet().rangeByScore(AUTOCOMPLETE_KEY, 0, 0);
-
-        consonantKeywords.forEach(restaurant -> {
-            String inputTrimmed = removeKoreanCharacters(input).trim();
-            if (extractConsonant(restaurant).contains(inputTrimmed)) {
-                matchingKeywords.add(restaurant);
-            }
-        });
-
-        return matchingKeywords;
-    }
-
-    private List<String> searchByGeneral(String input) {
-        List<String> matchingKeywords = new ArrayList<>();
-        Set<ZSetOperations.TypedTuple<String>> rankedKeywords = redisTemplate.opsForZSet().rangeWithScores(AUTOCOMPLETE_KEY, 0, -1);
-
-        if (rankedKeywords != null && !rankedKeywords.isEmpty()) {
-            List<String> sortedKeywords = rankedKeywords.stream()
-                    .sorted((a, b) -> Double.compare(b.getScore(), a.getScore())) // 내림차순 정렬
-                    .map(ZSetOperations.TypedTuple::getValue)
-                    .collect(Collectors.toList());
-
-            String trimmedInput = removeConsonantsAndVowelsCharacters(input).trim();
-            sortedKeywords.forEach(keyword -> {
-                if (keyword.contains(trimmedInput)) {
-                    matchingKeywords.add(keyword);
-                }
-            });
+    // 0 이하의 반감기는 가중치가 무한대/NaN 이 되므로 거부
+    private long halfLifeMillis() {
+        if (halfLifeHours < 1) {
+            throw new IllegalStateException("autocomplete.half-life-hours must be positive: " + halfLifeHours);
         }
-
-        return matchingKeywords;
+        return TimeUnit.HOURS.toMillis(halfLifeHours);
     }
 
-    //문자에서 초성을 추출
-    private String extractConsonant(String text) {
-        StringBuilder chosung = new StringBuilder();
-
-        text.chars().forEach(unicode -> {
-            if (isKoreanCharacter((char) unicode)) {
-                int chosungIndex = (unicode - '가') / (28 * 21);
-                chosung.append(chs[chosungIndex]);
+    private void addIfAbsent(List<String> words) {
+        if (words.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) {
+                for (String word : words) {
+                    if (word != null && !word.isEmpty()) {
+                        operations.opsForZSet().addIfAbsent(AUTOCOMPLETE_KEY, word, 0);
+                    }
+                }
+                return null;
             }
         });
-
-        return chosung.toString();
-    }
-
-    //한글 문자인지 확인
-    private boolean isKoreanCharacter(char ch) {
-        return ch >= 0xAC00 && ch <= 0xD7A3;
     }
 
-    //한글 모음인지 확인
-    private boolean isKoreanConsonant(char ch) {
-        return ch >= 'ㄱ' && ch <= 'ㅎ';
-    }
-
-    //만약 일반조회일 경우 완성되지 않은 한글을 제거
-    private String removeConsonantsAndVowelsCharacters(String text) {
-        return text.replaceAll("[ㄱ-ㅎㅏ-ㅣ]+", "");
+    private List<String> searchByConsonant(String input) {
+        //만약 초성조회일 경우 완성된 한글을 제거
+        String inputTrimmed = HangulUtils.removeSyllables(input).trim();
+        return autoCompleteIndex.searchByChoseong(inputTrimmed, maxResults);
     }
 
-    //만약 초성조회일 경우 완성된 한글을 제거
-    private String removeKoreanCharacters(String text) {
-        return text.replaceAll("[가-힣]+", "");
+    private List<String> searchByGeneral(String input) {
+        // 완성되지 않은 마지막 낱자까지 포함해 낱자 단위로 검색
+        String trimmedInput = input.trim();
+        return autoCompleteIndex.search(trimmedInput, maxResults);
     }
 }
@@ -3,13 +3,18 @@ package com.bttf.queosk.service;
 import com.bttf.queosk.dao.FCMTokenDao;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MulticastMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
 @RequiredArgsConstructor
 @Service
 public class FcmService implements MessageService {
-
+    private static final int MULTICAST_TOKEN_LIMIT = 500;
 
     private final FCMTokenDao fcmTokenDao;
 
@@ -27,6 +32,27 @@ public class FcmService implements MessageService {
         send(message);
     }
 
+    // 토큰을 한 번에 조회한 뒤 멀티캐스트로 전송 (요청당 최대 토큰 수 단위로 나누어 전송)
+    public void sendMessageToWaitingUsers(List<String> emails) {
+        if (emails == null || emails.isEmpty()) {
+            return;
+        }
+        List<String> tokens = fcmTokenDao.getTokens(emails)
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < tokens.size(); i += MULTICAST_TOKEN_LIMIT) {
+            MulticastMessage message = MulticastMessage.builder()
+                    .putData("title", "대기 순서 알림")
+                    .putData("content", "곧 입장하실 차례입니다. 메뉴를 주문 해주세요.")
+                    .addAllTokens(tokens.subList(i, Math.min(i + MULTICAST_TOKEN_LIMIT, tokens.size())))
+                    .build();
+
+            FirebaseMessaging.getInstance().sendMulticastAsync(message);
+        }
+    }
+
     public void send(Message message) {
         FirebaseMessaging.getInstance().sendAsync(message);
     }
@@ -1,6 +1,10 @@
 package com.bttf.queosk.service;
 
+import java.util.List;
+
 public interface MessageService {
 
     void sendMessageToWaitingUser(String token);
+
+    void sendMessageToWaitingUsers(List<String> emails);
 }
@@ -2,26 +2,37 @@ package com.bttf.queosk.service;
 
 import com.bttf.queosk.dto.OrderCreationRequestForm;
 import com.bttf.queosk.dto.OrderDto;
+import com.bttf.queosk.dto.OrderEventDto;
+import com.bttf.queosk.entity.Menu;
 import com.bttf.queosk.entity.MenuItem;
 import com.bttf.queosk.entity.Order;
 import com.bttf.queosk.entity.Restaurant;
-import com.bttf.queosk.entity.Table;
+import com.bttf.queosk.enumerate.OrderEventType;
 import com.bttf.queosk.enumerate.OrderStatus;
+import com.bttf.queosk.event.OrderChangedEvent;
 import com.bttf.queosk.exception.CustomException;
 import com.bttf.queosk.exception.ErrorCode;
 import com.bttf.queosk.repository.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.bttf.queosk.enumerate.MenuStatus.SOLD_OUT;
 import static com.bttf.queosk.enumerate.OperationStatus.CLOSED;
 import static com.bttf.queosk.enumerate.OrderStatus.DONE;
 import static com.bttf.queosk.enumerate.OrderStatus.IN_PROGRESS;
+import static com.bttf.queosk.enumerate.TableStatus.OPEN;
 import static com.bttf.queosk.enumerate.TableStatus.USING;
 import static com.bttf.queosk.exception.ErrorCode.*;
 
@@ -33,31 +44,35 @@ public class OrderService {
     private final TableRepository tableRepository;
     private final MenuRepository menuRepository;
     private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void createOrder(OrderCreationRequestForm orderCreationRequest, Long userId) {
 
         Restaurant restaurant = getRestaurant(orderCreationRequest.getRestaurantId());
 
-        Table table = getTable(orderCreationRequest.getTableId());
-
         Order order = Order.builder()
                 .restaurantId(orderCreationRequest.getRestaurantId())
-                .tableId(table.getId())
+                .tableId(orderCreationRequest.getTableId())
                 .userId(userId)
                 .status(IN_PROGRESS)
                 .build();
 
+        Map<Long, Menu> menus = getOrderedMenus(restaurant.getId(), orderCreationRequest.getMenuItems());
+
         List<MenuItem> menuItemList = orderCreationRequest.getMenuItems().stream().map(menuItems -> MenuItem.builder()
-                .menu(menuRepository.findById(menuItems.getMenu()).orElseThrow(() -> new CustomException(MENU_NOT_FOUND)))
+                .menu(menus.get(menuItems.getMenu()))
                 .count(menuItems.getCount())
                 .order(order)
                 .build()).collect(Collectors.toList());
 
-        validOrder(restaurant, table, menuItemList);
-        table.setStatus(USING);
+        validOrder(restaurant, menuItemList);
+        claimTable(orderCreationRequest.getTableId());
         orderRepository.save(order);
         menuItemRepository.saveAll(menuItemList);
+
+        eventPublisher.publishEvent(OrderChangedEvent.of(
+                order.getRestaurantId(), OrderEventType.CREATED, OrderEventDto.of(order, menuItemList)));
     }
 
     @Transactional
@@ -68,6 +83,9 @@ public class OrderService {
         order.setStatus(orderStatus);
 
         orderRepository.save(order);
+
+        eventPublisher.publishEvent(OrderChangedEvent.of(
+                order.getRestaurantId(), OrderEventType.STATUS_CHANGED, OrderEventDto.of(order)));
     }
 
     private Order getOrder(Long orderId) {
@@ -75,53 +93,89 @@ public class OrderService {
     }
 
 
+    @Transactional(readOnly = true)
     public OrderDto readOrder(Long orderId, Long restaurantId) {
         Order order = getOrder(orderId);
-        List<MenuItem> menuItems = menuItemRepository.findAllByOrderId(orderId);
         orderRestaurantValidation(order, restaurantId);
-        return OrderDto.of(order, menuItems);
+        return orderToOrderDto(Collections.singletonList(order)).get(0);
     }
 
-    public List<OrderDto> readTodayOrderList(Long restaurantId) {
+    @Transactional(readOnly = true)
+    public List<OrderDto> readTodayOrderList(Long restaurantId, int page, Integer size) {
         Restaurant restaurant = getRestaurant(restaurantId);
         LocalDateTime startTime = LocalDateTime.now().toLocalDate().atStartOfDay();
         LocalDateTime endTime = LocalDateTime.now().toLocalDate().atTime(23, 59, 59);
 
-        List<Order> orderList = orderRepository.findByRestaurantIdAndCreatedAtBetween(
-                restaurant.getId(), startTime, endTime
+        List<Order> orderList = orderRepository.findByRestaurantIdAndCreatedAtBetweenOrderByIdAsc(
+                restaurant.getId(), startTime, endTime, orderPage(page, size)
         );
 
         return orderToOrderDto(orderList);
     }
 
-    public List<OrderDto> readInProgressOrderList(Long restaurantId) {
-        List<Order> orderList =
-                orderRepository.findAllByRestaurantIdAndStatus(restaurantId, IN_PROGRESS);
+    @Transactional(readOnly = true)
+    public List<OrderDto> readInProgressOrderList(Long restaurantId, int page, Integer size) {
+        List<Order> orderList = orderRepository.findAllByRestaurantIdAndStatusOrderByIdAsc(
+                restaurantId, IN_PROGRESS, orderPage(page, size)
+        );
 
         return orderToOrderDto(orderList);
     }
 
+    // 주문 목록의 메뉴 항목을 IN 절 한 번으로 조회한 뒤 주문별로 묶음 (주문 수와 무관하게 쿼리 2회)
     private List<OrderDto> orderToOrderDto(List<Order> orderList) {
+        if (orderList.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> orderIds = orderList.stream()
+                .map(Order::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, List<MenuItem>> menuItemsByOrderId =
+                menuItemRepository.findAllWithMenuByOrderIdIn(orderIds).stream()
+                        .collect(Collectors.groupingBy(menuItem -> menuItem.getOrder().getId()));
 
         return orderList.stream()
-                .map(order -> OrderDto.of(order, menuItemRepository.findAllByOrderId(order.getId())))
+                .map(order -> OrderDto.of(order,
+                        menuItemsByOrderId.getOrDefault(order.getId(), Collections.emptyList())))
                 .collect(Collectors.toList());
     }
 
-    public List<OrderDto> readItodayDoneList(Long restaurantId) {
+    // 주방 화면은 주문을 한 화면에 모두 띄우므로 크기를 지정하지 않으면 전체 조회 (목록이 조용히 잘리지 않도록)
+    // 정렬은 조회 메서드의 주문 번호 오름차순 (먼저 들어온 주문부터)
+    private Pageable orderPage(int page, Integer size) {
+        if (size == null) {
+            return Pageable.unpaged();
+        }
+        if (page < 0 || size < 1) {
+            throw new CustomException(INVALID_PAGE_REQUEST);
+        }
+        return PageRequest.of(page, size);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDto> readItodayDoneList(Long restaurantId, int page, Integer size) {
 
         LocalDateTime startTime = LocalDateTime.now().toLocalDate().atStartOfDay();
         LocalDateTime endTime = LocalDateTime.now().toLocalDate().atTime(23, 59, 59);
 
-        List<Order> orderList =
-                orderRepository.findByRestaurantIdAndCreatedAtBetweenAndStatus(restaurantId, startTime, endTime, DONE);
+        List<Order> orderList = orderRepository.findByRestaurantIdAndCreatedAtBetweenAndStatusOrderByIdAsc(
+                restaurantId, startTime, endTime, DONE, orderPage(page, size)
+        );
 
         return orderToOrderDto(orderList);
     }
 
-    private Table getTable(Long tableId) {
-        return tableRepository.findById(tableId)
-                .orElseThrow(() -> new CustomException(ErrorCode.INVALID_TABLE));
+    // 비어있는 테이블만 사용중으로 변경, 동시에 주문하면 먼저 변경한 한 건만 성공하고 나머지는 재시도 없이 실패
+    private void claimTable(Long tableId) {
+        if (tableRepository.updateStatusIfCurrent(tableId, OPEN, USING) > 0) {
+            return;
+        }
+        if (!tableRepository.existsById(tableId)) {
+            throw new CustomException(ErrorCode.INVALID_TABLE);
+        }
+        throw new CustomException(TABLE_IS_USING);
     }
 
     private Restaurant getRestaurant(Long restaurantId) {
@@ -129,7 +183,27 @@ public class OrderService {
                 .orElseThrow(() -> new CustomException(ErrorCode.INVALID_RESTAURANT));
     }
 
-    private void validOrder(Restaurant restaurant, Table table, List<MenuItem> menuItems) {
+    // 주문한 메뉴를 한 번에 조회, 존재하지 않거나 다른 매장의 메뉴가 섞여 있다면 예외
+    private Map<Long, Menu> getOrderedMenus(Long restaurantId, List<OrderCreationRequestForm.MenuItems> menuItems) {
+        Set<Long> menuIds = menuItems.stream()
+                .map(OrderCreationRequestForm.MenuItems::getMenu)
+                .collect(Collectors.toSet());
+
+        Map<Long, Menu> menus = menuRepository.findAllById(menuIds).stream()
+                .collect(Collectors.toMap(Menu::getId, Function.identity()));
+
+        if (menus.size() != menuIds.size()) {
+            throw new CustomException(MENU_NOT_FOUND);
+        }
+        menus.values().forEach(menu -> {
+            if (!menu.getRestaurantId().equals(restaurantId)) {
+                throw new CustomException(MENU_RESTAURANT_NOT_MATCH);
+            }
+        });
+        return menus;
+    }
+
+    private void validOrder(Restaurant restaurant, List<MenuItem> menuItems) {
         if (restaurant.getOperationStatus().equals(CLOSED)) {
             throw new CustomException(RESTAURANT_CLOSED);
         }
@@ -139,10 +213,6 @@ public class OrderService {
                     }
                 }
         );
-
-        if (table.getStatus().equals(USING)) {
-            throw new CustomException(TABLE_IS_USING);
-        }
     }
 
     public void orderRestaurantValidation(Order order, Long restaurantId) {
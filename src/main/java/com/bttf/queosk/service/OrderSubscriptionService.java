@@ -0,0 +1,156 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.enumerate.OrderEventType;
+import com.bttf.queosk.repository.OrderEventRedisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static com.bttf.queosk.repository.OrderEventRedisRepository.*;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderSubscriptionService {
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final String RESET_EVENT = "order-reset";
+    private static final int READ_BATCH_SIZE = 100;
+    private static final Pattern EVENT_ID_PATTERN = Pattern.compile("\\d+-\\d+");
+
+    private final OrderEventRedisRepository orderEventRedisRepository;
+
+    // 현재 서버 노드에 연결된 매장 태블릿 (restaurantId -> emitter -> 마지막으로 전송한 이벤트 ID)
+    private final Map<Long, Map<SseEmitter, String>> emitters = new ConcurrentHashMap<>();
+
+    // 매장 주문 이벤트 구독, Last-Event-ID 가 있다면 그 다음 이벤트부터 이어서 전송
+    public SseEmitter subscribe(Long restaurantId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+
+        String cursor = resumeCursor(restaurantId, lastEventId, emitter);
+        // 마지막 태블릿이 빠지며 매장 항목이 제거되는 것과 겹치지 않도록 등록도 같은 키 잠금 안에서 처리
+        emitters.compute(restaurantId, (id, subscribers) -> {
+            Map<SseEmitter, String> registered = subscribers == null ? new ConcurrentHashMap<>() : subscribers;
+            registered.put(emitter, cursor);
+            return registered;
+        });
+
+        emitter.onCompletion(() -> removeEmitter(restaurantId, emitter));
+        emitter.onTimeout(() -> removeEmitter(restaurantId, emitter));
+        emitter.onError(e -> removeEmitter(restaurantId, emitter));
+
+        // 커서 조회와 등록 사이에 추가된 이벤트 전송
+        pushEvents(restaurantId);
+
+        return emitter;
+    }
+
+    // 주문이 변경되면 현재 노드의 태블릿마다 마지막으로 받은 이벤트 이후의 이벤트만 전송
+    public void pushEvents(Long restaurantId) {
+        Map<SseEmitter, String> subscribers = emitters.get(restaurantId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        // 같은 매장에 대한 전송이 겹쳐 이벤트가 중복 전송되지 않도록 매장 단위로 직렬화
+        synchronized (subscribers) {
+            String from = oldestCursor(subscribers);
+            while (from != null) {
+                List<MapRecord<String, Object, Object>> records =
+                        orderEventRedisRepository.findFrom(restaurantId, from, READ_BATCH_SIZE);
+
+                for (Map.Entry<SseEmitter, String> subscriber : new ArrayList<>(subscribers.entrySet())) {
+                    sendRecords(restaurantId, subscribers, subscriber.getKey(), subscriber.getValue(), records);
+                }
+
+                if (records.size() < READ_BATCH_SIZE) {
+                    break;
+                }
+                from = records.get(records.size() - 1).getId().getValue();
+            }
+        }
+    }
+
+    // 이어받을 이벤트가 이미 스트림에서 정리되었거나 잘못된 ID 라면 목록을 다시 조회하도록 알리고 최신 위치부터 구독
+    private String resumeCursor(Long restaurantId, String lastEventId, SseEmitter emitter) {
+        if (!StringUtils.hasText(lastEventId)) {
+            return orderEventRedisRepository.findLatestId(restaurantId);
+        }
+        if (EMPTY_STREAM_ID.equals(lastEventId)
+                || isValidEventId(lastEventId) && orderEventRedisRepository.exists(restaurantId, lastEventId)) {
+            return lastEventId;
+        }
+
+        String latestId = orderEventRedisRepository.findLatestId(restaurantId);
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(latestId)
+                    .name(RESET_EVENT)
+                    .data(latestId));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Order subscription closed (restaurantId: {})", restaurantId);
+        }
+        return latestId;
+    }
+
+    private void sendRecords(Long restaurantId, Map<SseEmitter, String> subscribers, SseEmitter emitter,
+                             String cursor, List<MapRecord<String, Object, Object>> records) {
+        String sent = cursor;
+        try {
+            for (MapRecord<String, Object, Object> record : records) {
+                String eventId = record.getId().getValue();
+                if (!isAfter(eventId, sent)) {
+                    continue;
+                }
+                OrderEventType type = OrderEventType.valueOf((String) record.getValue().get(TYPE_FIELD));
+
+                emitter.send(SseEmitter.event()
+                        .id(eventId)
+                        .name(type.getEventName())
+                        .data(record.getValue().get(PAYLOAD_FIELD), MediaType.APPLICATION_JSON));
+                sent = eventId;
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Order subscription closed (restaurantId: {})", restaurantId);
+            removeEmitter(restaurantId, emitter);
+            return;
+        }
+
+        if (!sent.equals(cursor)) {
+            subscribers.replace(emitter, sent);
+        }
+    }
+
+    private static String oldestCursor(Map<SseEmitter, String> subscribers) {
+        String oldest = null;
+        for (String cursor : subscribers.values()) {
+            if (oldest == null || isAfter(oldest, cursor)) {
+                oldest = cursor;
+            }
+        }
+        return oldest;
+    }
+
+    private static boolean isValidEventId(String eventId) {
+        return EVENT_ID_PATTERN.matcher(eventId).matches();
+    }
+
+    // 매장의 마지막 태블릿이 빠지면 매장 항목도 제거 (구독했던 매장 수만큼 빈 맵이 쌓이지 않도록)
+    private void removeEmitter(Long restaurantId, SseEmitter emitter) {
+        emitters.computeIfPresent(restaurantId, (id, subscribers) -> {
+            subscribers.remove(emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+}
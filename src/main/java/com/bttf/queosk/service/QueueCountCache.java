@@ -0,0 +1,44 @@
+package com.bttf.queosk.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 목록 화면용 매장별 웨이팅 수를 짧은 시간 동안 메모리에 보관 (노드 간 동기화 없이 TTL 로만 만료)
+@Component
+public class QueueCountCache {
+    private static final int CLEANUP_THRESHOLD = 10_000;
+
+    @Value("${queue.count-cache.ttl-millis:2000}")
+    private long ttlMillis;
+
+    private final Map<Long, CachedCount> counts = new ConcurrentHashMap<>();
+
+    // 만료되지 않은 값이 있다면 반환, 없다면 null
+    public Long get(Long restaurantId, long nowMillis) {
+        CachedCount cached = counts.get(restaurantId);
+        if (cached == null || cached.expiresAt <= nowMillis) {
+            return null;
+        }
+        return cached.count;
+    }
+
+    public void put(Long restaurantId, Long count, long nowMillis) {
+        if (counts.size() >= CLEANUP_THRESHOLD) {
+            counts.values().removeIf(cached -> cached.expiresAt <= nowMillis);
+        }
+        counts.put(restaurantId, new CachedCount(count == null ? 0L : count, nowMillis + ttlMillis));
+    }
+
+    private static class CachedCount {
+        private final long count;
+        private final long expiresAt;
+
+        private CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.Queue;
+import com.bttf.queosk.entity.User;
+import com.bttf.queosk.event.QueueChangedEvent;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import com.bttf.queosk.repository.QueueRepository;
+import com.bttf.queosk.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.bttf.queosk.enumerate.QueueEventType.POP;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueNotificationService {
+
+    private final QueueRedisRepository queueRedisRepository;
+    private final QueueRepository queueRepository;
+    private final UserRepository userRepository;
+    private final FcmService fcmService;
+
+    // 대기열이 당겨졌을 때 알림을 받을 앞 순서 팀 수
+    @Value("${queue.notification.top-n:2}")
+    private int notifyTopN;
+
+    // 커밋 이후 별도 스레드에서 앞 순서 N 팀에게 입장 임박 알림 전송 (점주의 다음팀 호출 응답을 지연시키지 않음)
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void notifyUpcomingTeams(QueueChangedEvent event) {
+        if (event.getType() != POP || notifyTopN <= 0) {
+            return;
+        }
+        String restaurantId = String.valueOf(event.getRestaurantId());
+
+        List<String> queueIds = queueRedisRepository.findRange(restaurantId, 0, notifyTopN - 1);
+        if (queueIds == null || queueIds.isEmpty()) {
+            return;
+        }
+
+        List<Long> userIds = findUserIds(restaurantId, queueIds);
+        List<String> emails = userRepository.findAllById(userIds)
+                .stream()
+                .map(User::getEmail)
+                .collect(Collectors.toList());
+
+        fcmService.sendMessageToWaitingUsers(emails);
+    }
+
+    // 소유자 해시로 사용자 id 를 한 번에 조회하고, 해시에 없는(이전 방식으로 등록된) 대기열만 DB 에서 조회
+    private List<Long> findUserIds(String restaurantId, List<String> queueIds) {
+        List<String> ownerIds = queueRedisRepository.findUserIdsOfQueues(restaurantId, queueIds);
+
+        List<Long> userIds = new ArrayList<>();
+        List<Long> unresolvedQueueIds = new ArrayList<>();
+        for (int i = 0; i < queueIds.size(); i++) {
+            String ownerId = ownerIds == null ? null : ownerIds.get(i);
+            if (ownerId != null) {
+                userIds.add(Long.parseLong(ownerId));
+            } else {
+                unresolvedQueueIds.add(Long.parseLong(queueIds.get(i)));
+            }
+        }
+
+        if (!unresolvedQueueIds.isEmpty()) {
+            queueRepository.findAllById(unresolvedQueueIds)
+                    .stream()
+                    .map(Queue::getUserId)
+                    .filter(Objects::nonNull)
+                    .forEach(userIds::add);
+        }
+        return userIds;
+    }
+}
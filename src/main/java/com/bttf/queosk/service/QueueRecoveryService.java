@@ -0,0 +1,188 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.QueueCheckpoint;
+import com.bttf.queosk.entity.QueueEvent;
+import com.bttf.queosk.repository.QueueCheckpointRepository;
+import com.bttf.queosk.repository.QueueEventRepository;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import com.bttf.queosk.repository.QueueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.bttf.queosk.repository.QueueRedisRepository.RESTORE_SKIPPED;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueRecoveryService {
+    // Redis 대기열 TTL 과 동일하게, 하루 이상 지난 등록은 대기중으로 보지 않음
+    private static final long WAITING_EXPIRE_SECONDS = TimeUnit.HOURS.toSeconds(24);
+
+    private final QueueEventRepository queueEventRepository;
+    private final QueueCheckpointRepository queueCheckpointRepository;
+    private final QueueRepository queueRepository;
+    private final QueueRedisRepository queueRedisRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // IDENTITY id 는 커밋 순서와 다를 수 있으므로, 이 시간보다 오래된 이력까지만 기준점에 반영
+    // (늦게 커밋된 낮은 id 의 이력이 기준점 뒤에 남아 다음 재구성에서도 읽히도록 함)
+    @Value("${queue.checkpoint.safety-lag-seconds:60}")
+    private long checkpointSafetyLagSeconds;
+
+    // 기동 시 새 이력이 있거나 대기팀이 남아있던 매장만 재구성 (전체 이력 크기와 무관)
+    // 다른 노드가 처리중인 요청과 겹칠 수 있으므로 Redis 는 대기열 키가 사라진 경우에만 복원
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Set<Long> restaurantIds = new LinkedHashSet<>(queueEventRepository.findRestaurantIdsWithEventsAfterCheckpoint());
+        restaurantIds.addAll(queueCheckpointRepository.findRestaurantIdsWithWaitingTeams());
+
+        long restored = 0;
+        for (Long restaurantId : restaurantIds) {
+            Boolean drifted = transactionTemplate.execute(status -> replay(restaurantId, true));
+            if (Boolean.TRUE.equals(drifted)) {
+                restored++;
+            }
+        }
+        log.info("Queue rebuild complete ({} restaurants checked, {} restored)", restaurantIds.size(), restored);
+    }
+
+    // 매장 요청으로 재구성 (Redis 대기열 키가 사라져 이력으로 복원했다면 true)
+    @Transactional
+    public boolean rebuild(Long restaurantId) {
+        return replay(restaurantId, true);
+    }
+
+    // 기준점을 주기적으로 앞당겨 재구성 시 읽어야 할 이력을 일정하게 유지
+    @Scheduled(cron = "0 30 * * * ?")
+    public void advanceCheckpoints() {
+        for (Long restaurantId : queueEventRepository.findRestaurantIdsWithEventsAfterCheckpoint()) {
+            transactionTemplate.execute(status -> replay(restaurantId, false));
+        }
+    }
+
+    // 기준점 이후 이력을 모두 적용해 대기 순서를 만들고, 필요하면 Redis 를 복원
+    // 기준점은 처음으로 최근 이력이 나오기 전까지, 연속해서 충분히 오래된 이력까지만 갱신
+    private boolean replay(Long restaurantId, boolean restoreRedis) {
+        QueueCheckpoint checkpoint = queueCheckpointRepository.findById(restaurantId)
+                .orElseGet(() -> QueueCheckpoint.empty(restaurantId));
+
+        LinkedHashMap<Long, String[]> waiting = parseWaitingTeams(checkpoint.getWaitingTeams());
+        Set<Long> poppedQueueIds = new HashSet<>();
+        Long lastSequence = checkpoint.getLastSequence();
+        String settledWaitingTeams = null;
+        LocalDateTime settledBefore = LocalDateTime.now().minusSeconds(checkpointSafetyLagSeconds);
+
+        for (QueueEvent event : queueEventRepository
+                .findByRestaurantIdAndIdGreaterThanOrderByIdAsc(restaurantId, checkpoint.getLastSequence())) {
+            if (settledWaitingTeams == null && !isSettled(event, settledBefore)) {
+                settledWaitingTeams = formatWaitingTeams(waiting.values());
+            }
+            switch (event.getType()) {
+                case ENQUEUE:
+                    waiting.put(event.getQueueId(), new String[]{
+                            String.valueOf(event.getQueueId()),
+                            String.valueOf(event.getUserId()),
+                            String.valueOf(toEpochSecond(event))
+                    });
+                    break;
+                case POP:
+                    waiting.remove(event.getQueueId());
+                    poppedQueueIds.add(event.getQueueId());
+                    break;
+                case CANCEL:
+                    waiting.remove(event.getQueueId());
+                    break;
+            }
+            if (settledWaitingTeams == null) {
+                lastSequence = event.getId();
+            }
+        }
+
+        long expiredBefore = Instant.now().getEpochSecond() - WAITING_EXPIRE_SECONDS;
+        waiting.values().removeIf(team -> Long.parseLong(team[2]) < expiredBefore);
+
+        markPoppedQueuesDone(poppedQueueIds);
+
+        boolean restored = restoreRedis && restoreIfMissing(restaurantId, waiting.values());
+
+        if (settledWaitingTeams == null) {
+            settledWaitingTeams = formatWaitingTeams(waiting.values());
+        }
+        checkpoint.advance(lastSequence, settledWaitingTeams);
+        queueCheckpointRepository.save(checkpoint);
+        return restored;
+    }
+
+    private static boolean isSettled(QueueEvent event, LocalDateTime settledBefore) {
+        return event.getCreatedAt() != null && event.getCreatedAt().isBefore(settledBefore);
+    }
+
+    // 대기열 키가 모두 사라진 경우에만 복원 (키가 남아있다면 처리중인 요청이 커밋 전일 수 있어 차이가 있어도 유지)
+    private boolean restoreIfMissing(Long restaurantId, Collection<String[]> waiting) {
+        if (waiting.isEmpty()) {
+            return false;
+        }
+        List<String> queueIds = waiting.stream().map(team -> team[0]).collect(Collectors.toList());
+        List<String> userIds = waiting.stream().map(team -> team[1]).collect(Collectors.toList());
+
+        Long restored = queueRedisRepository.restoreQueue(String.valueOf(restaurantId), queueIds, userIds);
+        if (restored == null || restored == RESTORE_SKIPPED) {
+            return false;
+        }
+
+        for (int i = 0; i < queueIds.size(); i++) {
+            queueRedisRepository.addActiveQueue(userIds.get(i), String.valueOf(restaurantId), queueIds.get(i));
+        }
+        log.warn("Queue of restaurant {} was missing from Redis, restored {} teams", restaurantId, restored);
+        return true;
+    }
+
+    // 입장(pop) 처리되었지만 DB 에 반영되지 않은 웨이팅만 처리 완료로 변경
+    // (isDone 은 입장/호출을 뜻하므로 취소, 만료된 웨이팅은 그대로 둠)
+    private void markPoppedQueuesDone(Set<Long> poppedQueueIds) {
+        if (poppedQueueIds.isEmpty()) {
+            return;
+        }
+        queueRepository.findAllById(poppedQueueIds)
+                .stream()
+                .filter(queue -> !queue.isDone())
+                .forEach(queue -> queue.setDone(true));
+    }
+
+    private static long toEpochSecond(QueueEvent event) {
+        return event.getCreatedAt() == null ?
+                Instant.now().getEpochSecond() :
+                event.getCreatedAt().atZone(TimeZone.getDefault().toZoneId()).toEpochSecond();
+    }
+
+    private static LinkedHashMap<Long, String[]> parseWaitingTeams(String waitingTeams) {
+        LinkedHashMap<Long, String[]> waiting = new LinkedHashMap<>();
+        if (waitingTeams == null || waitingTeams.isEmpty()) {
+            return waiting;
+        }
+        for (String team : waitingTeams.split(",")) {
+            String[] values = team.split(":");
+            waiting.put(Long.parseLong(values[0]), values);
+        }
+        return waiting;
+    }
+
+    private static String formatWaitingTeams(Collection<String[]> waiting) {
+        return waiting.stream()
+                .map(team -> String.join(":", team))
+                .collect(Collectors.joining(","));
+    }
+}
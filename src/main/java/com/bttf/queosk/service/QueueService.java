@@ -3,31 +3,45 @@ package com.bttf.queosk.service;
 import com.bttf.queosk.dto.*;
 import com.bttf.queosk.entity.Queue;
 import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.event.QueueChangedEvent;
 import com.bttf.queosk.exception.CustomException;
 import com.bttf.queosk.repository.QueueRedisRepository;
 import com.bttf.queosk.repository.QueueRepository;
 import com.bttf.queosk.repository.RestaurantRepository;
-import com.bttf.queosk.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static com.bttf.queosk.enumerate.QueueEventType.*;
+import static com.bttf.queosk.repository.QueueRedisRepository.QUEUE_FULL;
+import static com.bttf.queosk.service.RestaurantCapacityCache.UNLIMITED;
 import static com.bttf.queosk.exception.ErrorCode.*;
 
 @Service
 @RequiredArgsConstructor
 public class QueueService {
-    private final UserRepository userRepository;
+    private static final long DONE_QUEUE_DISPLAY_MINUTES = 11;
+    private static final int MAX_COUNT_RESTAURANTS = 300;
+
     private final RestaurantRepository restaurantRepository;
     private final QueueRedisRepository queueRedisRepository;
     private final QueueRepository queueRepository;
-    private final FcmService fcmService;
+    private final RestaurantCapacityCache restaurantCapacityCache;
+    private final QueueCountCache queueCountCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     // 사용자가 웨이팅 등록
     @Transactional
@@ -35,44 +49,128 @@ public class QueueService {
                             Long userId,
                             Long restaurantId) {
 
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-                .orElseThrow(() -> new CustomException(INVALID_RESTAURANT));
+        // 매장 정보는 DB 대신 메모리에 캐시된 웨이팅 제한으로 확인 (존재하지 않는 매장이라면 예외)
+        long maxWaiting = restaurantCapacityCache.getMaxWaiting(restaurantId);
 
-        checkIfUserAlreadyInQueue(userId, restaurantId);
+        // 정원이 찬 매장은 DB 저장 전에 빠르게 거절 (최종 확인은 등록 스크립트에서 원자적으로 처리)
+        if (maxWaiting != UNLIMITED &&
+                queueRedisRepository.countWaiting(String.valueOf(restaurantId)) >= maxWaiting) {
+            throw new CustomException(QUEUE_IS_FULL);
+        }
 
         Queue queue = queueRepository.save(
-                Queue.of(queueRequestRequest, restaurant.getId(), userId)
+                Queue.of(queueRequestRequest, restaurantId, userId)
+        );
+
+        // 중복, 정원 확인과 대기열 등록을 Redis 스크립트 한 번으로 처리, 실패하면 예외로 저장한 Queue 롤백
+        Long queueIndex = queueRedisRepository.enqueue(
+                String.valueOf(restaurantId),
+                String.valueOf(userId),
+                String.valueOf(queue.getId()),
+                maxWaiting
         );
 
-        queueRedisRepository.createQueue(
-                String.valueOf(restaurant.getId()),
+        if (queueIndex != null && queueIndex == QUEUE_FULL) {
+            throw new CustomException(QUEUE_IS_FULL);
+        }
+        if (queueIndex == null || queueIndex < 0) {
+            throw new CustomException(QUEUE_ALREADY_EXISTS);
+        }
+
+        queueRedisRepository.addActiveQueue(
+                String.valueOf(userId),
+                String.valueOf(restaurantId),
                 String.valueOf(queue.getId())
         );
+
+        eventPublisher.publishEvent(
+                QueueChangedEvent.of(restaurantId, ENQUEUE, queue.getId(), userId));
     }
 
     //웨이팅 중인 팀들의 예약정보 가져오기
     @Transactional(readOnly = true)
     public QueueListDto getQueueList(Long restaurantId) {
 
-        List<QueueDto> queueDtos = queueRedisRepository.findAll(String.valueOf(restaurantId))
-                .stream()
-                .map(queueId -> queueRepository.findById(Long.parseLong(queueId)).orElse(null))
-                .filter(Objects::nonNull)
-                .map(QueueDto::of)
-                .collect(Collectors.toList());
+        List<String> queueIds = queueRedisRepository.findAll(String.valueOf(restaurantId));
+
+        return QueueListDto.of(hydrateQueues(queueIds));
+    }
+
+    //웨이팅 중인 팀들의 예약정보를 페이지 단위로 가져오기 (대기팀이 많은 매장용)
+    @Transactional(readOnly = true)
+    public QueueListDto getQueueList(Long restaurantId, int page, int size) {
+        // size 0 은 LRANGE 0 -1 (전체 조회), 음수 page 는 뒤에서부터의 인덱스가 되므로 거부
+        if (page < 0 || size < 1) {
+            throw new CustomException(INVALID_PAGE_REQUEST);
+        }
 
-        return QueueListDto.of(queueDtos);
+        long start = (long) page * size;
+
+        List<String> queueIds = queueRedisRepository.findRange(
+                String.valueOf(restaurantId), start, start + size - 1);
+
+        Long totalQueue = queueRedisRepository.countWaiting(String.valueOf(restaurantId));
+
+        return QueueListDto.of(
+                hydrateQueues(queueIds),
+                totalQueue == null ? 0 : totalQueue.intValue()
+        );
     }
 
     public QueueOfRestaurantDto getQueueOfRestaurant(Long restaurantId) {
-        List<String> queues = queueRedisRepository.findAll(String.valueOf(restaurantId));
-        return QueueOfRestaurantDto.builder().totalQueue(queues.size()).build();
+        // 대기열 전체를 조회하지 않고 길이만 조회
+        Long totalQueue = queueRedisRepository.countWaiting(String.valueOf(restaurantId));
+        return QueueOfRestaurantDto.builder()
+                .totalQueue(totalQueue == null ? 0 : totalQueue.intValue())
+                .build();
+    }
+
+    // 목록 화면의 여러 매장 웨이팅 수를 캐시와 한 번의 파이프라인으로 조회
+    public List<QueueCountDto> getQueueCounts(List<Long> restaurantIds) {
+        if (restaurantIds.size() > MAX_COUNT_RESTAURANTS) {
+            throw new CustomException(TOO_MANY_RESTAURANTS);
+        }
+
+        long now = System.currentTimeMillis();
+        Map<Long, Long> counts = new HashMap<>();
+        List<Long> missedIds = new ArrayList<>();
+        for (Long restaurantId : new LinkedHashSet<>(restaurantIds)) {
+            Long cached = queueCountCache.get(restaurantId, now);
+            if (cached != null) {
+                counts.put(restaurantId, cached);
+            } else {
+                missedIds.add(restaurantId);
+            }
+        }
+
+        if (!missedIds.isEmpty()) {
+            List<Long> missedCounts = queueRedisRepository.countWaitingOfRestaurants(
+                    missedIds.stream().map(String::valueOf).collect(Collectors.toList()));
+            for (int i = 0; i < missedIds.size(); i++) {
+                counts.put(missedIds.get(i), missedCounts.get(i));
+                queueCountCache.put(missedIds.get(i), missedCounts.get(i), now);
+            }
+        }
+
+        return restaurantIds.stream()
+                .distinct()
+                .map(restaurantId -> QueueCountDto.of(restaurantId, counts.get(restaurantId)))
+                .collect(Collectors.toList());
     }
 
     // 본인(사용자)의 순서 조회
     @Transactional(readOnly = true)
     public QueueIndexDto getUserQueueNumber(Long restaurantId, Long userId) {
 
+        // 대기중인 사용자라면 DB 조회 없이 Redis 에서 바로 반환
+        Long waitingIndex = queueRedisRepository.getUserWaitingIndex(
+                String.valueOf(restaurantId),
+                String.valueOf(userId)
+        );
+        if (waitingIndex != null) {
+            return QueueIndexDto.of(waitingIndex, findWaitTimeStats(restaurantId), System.currentTimeMillis());
+        }
+
         Queue queue = queueRepository
                 .findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(userId, restaurantId)
                 .orElseThrow(() -> new CustomException(QUEUE_DOESNT_EXIST));
@@ -91,7 +189,7 @@ public class QueueService {
             //그 외의 경우 예외 반환 (큐를 등록하지 않은 사용자)
             throw new CustomException(QUEUE_DOESNT_EXIST);
         }
-        return QueueIndexDto.of(userQueueIndex);
+        return QueueIndexDto.of(userQueueIndex, findWaitTimeStats(restaurantId), System.currentTimeMillis());
     }
 
     // 웨이팅 수를 앞에서 1개 당김.
@@ -100,22 +198,29 @@ public class QueueService {
         String poppedQueueId =
                 queueRedisRepository.popTheFirstTeamOfQueue(String.valueOf(restaurantId));
 
-        // pop된 Queue의 경우 quque 의 isDone 을 true처리
+        // pop된 Queue의 경우 quque 의 isDone 을 true처리, 입장 시점과 일행 수를 예상 대기시간 통계에 반영
         if (poppedQueueId != null) {
-            queueRepository.findById(Long.parseLong(poppedQueueId))
-                    .ifPresent(queue -> queue.setDone(true));
+            Long poppedUserId = queueRepository.findById(Long.parseLong(poppedQueueId))
+                    .map(queue -> {
+                        queue.setDone(true);
+                        queueRedisRepository.removeActiveQueue(
+                                String.valueOf(queue.getUserId()),
+                                String.valueOf(restaurantId),
+                                poppedQueueId
+                        );
+                        queueRedisRepository.recordSeating(
+                                String.valueOf(restaurantId),
+                                queue.getNumberOfParty(),
+                                System.currentTimeMillis()
+                        );
+                        return queue.getUserId();
+                    })
+                    .orElse(null);
+
+            // 앞 순서 팀에게 보내는 FCM 알림은 커밋 이후 QueueNotificationService 에서 비동기로 전송
+            eventPublisher.publishEvent(
+                    QueueChangedEvent.of(restaurantId, POP, Long.parseLong(poppedQueueId), poppedUserId));
         }
-
-        // 존재하는 queue 일 경우 리스트에 담음, 대기번호 2 번째 보다 작거나 같은 경우 FCM 알림 전송
-        List<Long> queueIds = queueRedisRepository.findAll(String.valueOf(restaurantId))
-                .stream()
-                .map(Long::parseLong)
-                .collect(Collectors.toList());
-
-        queueRepository.findAllById(queueIds)
-                .stream()
-                .filter(queue -> queue.getId() <= 2)
-                .forEach(queue -> sendNotificationToWaitingUser(queue.getUserId()));
     }
 
 
@@ -123,6 +228,22 @@ public class QueueService {
     @Transactional
     public void deleteUserQueue(Long restaurantId, Long userId) {
 
+        String canceledQueueId = queueRedisRepository.cancelUserQueue(
+                String.valueOf(restaurantId),
+                String.valueOf(userId)
+        );
+        if (canceledQueueId != null) {
+            queueRedisRepository.removeActiveQueue(
+                    String.valueOf(userId),
+                    String.valueOf(restaurantId),
+                    canceledQueueId
+            );
+            eventPublisher.publishEvent(
+                    QueueChangedEvent.of(restaurantId, CANCEL, Long.parseLong(canceledQueueId), userId));
+            return;
+        }
+
+        // 사용자 해시 도입 이전에 등록된 웨이팅은 DB 에서 queueId 를 찾아 삭제
         Queue queue = queueRepository
                 .findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(userId, restaurantId)
                 .orElseThrow(() -> new CustomException(QUEUE_DOESNT_EXIST));
@@ -131,63 +252,96 @@ public class QueueService {
                 String.valueOf(restaurantId),
                 String.valueOf(queue.getId())
         );
-    }
-
-    // 유저가 이미 해당 식당에 웨이팅 등록을 했는지 확인
-    private void checkIfUserAlreadyInQueue(Long userId, Long restaurantId) {
-        // 가장 최근에 생성된 Queue만 필요하므로, 첫 번째 Queue만 조회
-        Optional<Queue> latestQueue =
-                queueRepository.findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(userId, restaurantId);
+        queueRedisRepository.removeActiveQueue(
+                String.valueOf(userId),
+                String.valueOf(restaurantId),
+                String.valueOf(queue.getId())
+        );
 
-        if (latestQueue.isPresent()) {
+        eventPublisher.publishEvent(QueueChangedEvent.of(restaurantId, CANCEL, queue.getId(), userId));
+    }
 
-            Long userWaitingCount =
-                    queueRedisRepository.getUserWaitingCount(
-                            String.valueOf(restaurantId),
-                            String.valueOf(latestQueue.get().getId())
-                    );
+    // 사용자별 웨이팅 목록(Redis)과 최근 입장 처리된 웨이팅만 조회 (지난 이력 전체를 조회하지 않음)
+    @Transactional(readOnly = true)
+    public List<QueueOfUserDto> getUserQueueList(Long userId) {
+        List<String> restaurantIds = new ArrayList<>();
+        List<String> queueIds = new ArrayList<>();
+        for (String activeQueue : queueRedisRepository.findActiveQueues(String.valueOf(userId))) {
+            String[] ids = activeQueue.split(":");
+            restaurantIds.add(ids[0]);
+            queueIds.add(ids[1]);
+        }
 
-            if (userWaitingCount != null) {
-                throw new CustomException(QUEUE_ALREADY_EXISTS);
+        Map<Long, Long> waitingCountByQueueId = new HashMap<>();
+        Map<Long, Long> restaurantIdByQueueId = new HashMap<>();
+        List<Long> waitingCounts = restaurantIds.isEmpty() ?
+                Collections.emptyList() :
+                queueRedisRepository.getUserWaitingCounts(restaurantIds, queueIds);
+
+        for (int i = 0; i < queueIds.size(); i++) {
+            // 대기열에서 빠졌지만 목록에 남은 항목은 정리
+            if (waitingCounts.get(i) == null || waitingCounts.get(i) < 0) {
+                queueRedisRepository.removeActiveQueue(
+                        String.valueOf(userId), restaurantIds.get(i), queueIds.get(i));
+                continue;
             }
+            Long queueId = Long.parseLong(queueIds.get(i));
+            waitingCountByQueueId.put(queueId, waitingCounts.get(i));
+            restaurantIdByQueueId.put(queueId, Long.parseLong(restaurantIds.get(i)));
         }
-    }
 
-    //FCM 메세지 전송
-    private void sendNotificationToWaitingUser(Long userId) {
-        userRepository.findById(userId).ifPresent(user -> {
-            fcmService.sendMessageToWaitingUser(user.getEmail());
-        });
+        // 입장 처리된 지 얼마 되지 않은 웨이팅은 입장 가능(-1)으로 표시
+        queueRepository.findDoneQueuesOfUserSince(
+                        userId, LocalDateTime.now().minusMinutes(DONE_QUEUE_DISPLAY_MINUTES))
+                .forEach(queue -> {
+                    waitingCountByQueueId.putIfAbsent(queue.getId(), -1L);
+                    restaurantIdByQueueId.putIfAbsent(queue.getId(), queue.getRestaurantId());
+                });
+
+        Map<Long, Restaurant> restaurants = restaurantRepository
+                .findAllById(new HashSet<>(restaurantIdByQueueId.values()))
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+
+        return waitingCountByQueueId.keySet()
+                .stream()
+                .sorted()
+                .filter(queueId -> restaurants.containsKey(restaurantIdByQueueId.get(queueId)))
+                .map(queueId -> QueueOfUserDto.of(
+                        queueId,
+                        restaurants.get(restaurantIdByQueueId.get(queueId)),
+                        waitingCountByQueueId.get(queueId)))
+                .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<QueueOfUserDto> getUserQueueList(Long userId) {
-        List<Queue> userQueues = queueRepository.findByUserId(userId);
-
-        return userQueues.stream()
-                .map(queue -> {
-                    Long userWaitingCount = queueRedisRepository.getUserWaitingCount(
-                            String.valueOf(queue.getRestaurantId()),
-                            String.valueOf(queue.getId())
-                    );
-                    if (userWaitingCount != null || isQueueDone(queue)) {
-                        Optional<Restaurant> restaurant =
-                                restaurantRepository.findById(queue.getRestaurantId());
-                        if (restaurant.isPresent()) {
-                            return QueueOfUserDto.of(
-                                    queue,
-                                    restaurant.get(),
-                                    userWaitingCount != null ? userWaitingCount : -1L);
-                        }
-                    }
-                    return null;
-                })
+    // Redis 의 대기 순서를 유지하면서 한 번의 findAllById 로 Queue 정보를 채움
+    private List<QueueDto> hydrateQueues(List<String> queueIds) {
+        if (queueIds == null || queueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> ids = queueIds.stream()
+                .map(Long::parseLong)
+                .collect(Collectors.toList());
+
+        Map<Long, Queue> queues = queueRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Queue::getId, Function.identity()));
+
+        return ids.stream()
+                .map(queues::get)
                 .filter(Objects::nonNull)
+                .map(QueueDto::of)
                 .collect(Collectors.toList());
     }
 
+    private QueueWaitTimeDto findWaitTimeStats(Long restaurantId) {
+        return queueRedisRepository.findWaitTimeStats(String.valueOf(restaurantId));
+    }
+
     private boolean isQueueDone(Queue queue) {
         //만약 큐가 처리되었고 처리된 시간이 10분 이내일 경우 입장가능 인원으로 판단하여 -1 반환(이후 +1 하는것 감안)
-        return queue.isDone() && queue.getUpdatedAt().plusMinutes(11).isAfter(LocalDateTime.now());
+        return queue.isDone() &&
+                queue.getUpdatedAt().plusMinutes(DONE_QUEUE_DISPLAY_MINUTES).isAfter(LocalDateTime.now());
     }
 }
\ No newline at end of file
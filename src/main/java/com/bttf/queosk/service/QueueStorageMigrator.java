@@ -0,0 +1,92 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.Queue;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import com.bttf.queosk.repository.QueueRepository;
+import com.bttf.queosk.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QueueStorageMigrator {
+    private static final int BATCH_SIZE = 500;
+
+    private final RestaurantRepository restaurantRepository;
+    private final QueueRedisRepository queueRedisRepository;
+    private final QueueRepository queueRepository;
+
+    // 기동 시 이전 저장 방식으로 남아있는 대기열 키를 현재 저장 방식(queue.storage-mode)으로 이전하고
+    // 사용자별 웨이팅 목록을 보정 (키 존재 여부는 매장 묶음마다 파이프라인 한 번으로 확인, 대상 매장만 스크립트 실행)
+    // 사용자/소유자 해시 도입 이전에 등록된 팀은 이전 전에 해시를 먼저 채워 중복 등록 확인과 목록 보정에 포함
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateLiveQueues() {
+        List<String> restaurantIds = restaurantRepository.findAllIds().stream()
+                .map(String::valueOf)
+                .collect(Collectors.toList());
+
+        long backfilledTeams = 0;
+        long migratedTeams = 0;
+        long activeQueues = 0;
+
+        for (int from = 0; from < restaurantIds.size(); from += BATCH_SIZE) {
+            List<String> batch = restaurantIds.subList(from, Math.min(from + BATCH_SIZE, restaurantIds.size()));
+            List<Long> unownedCounts = queueRedisRepository.countUnownedWaitingOfRestaurants(batch);
+            List<Long> legacyCounts = queueRedisRepository.countWaitingInOtherStorageMode(batch);
+
+            for (int i = 0; i < batch.size(); i++) {
+                if (unownedCounts.get(i) > 0) {
+                    backfilledTeams += backfillOwners(batch.get(i));
+                }
+                if (legacyCounts.get(i) > 0) {
+                    Long migrated = queueRedisRepository.migrateToCurrentStorageMode(batch.get(i));
+                    if (migrated != null) {
+                        migratedTeams += migrated;
+                    }
+                }
+            }
+
+            // 해시를 채운 뒤의 소유자 수로 사용자별 웨이팅 목록 보정 대상을 선별
+            List<Long> ownerCounts = queueRedisRepository.countOwnersOfRestaurants(batch);
+            for (int i = 0; i < batch.size(); i++) {
+                if (ownerCounts.get(i) > 0) {
+                    activeQueues += queueRedisRepository.rebuildActiveQueues(batch.get(i));
+                }
+            }
+        }
+
+        log.info("Queue storage migration to {} complete ({} teams backfilled, {} teams moved, {} active queues indexed)",
+                queueRedisRepository.getStorageMode(), backfilledTeams, migratedTeams, activeQueues);
+    }
+
+    // 소유자 해시에 없는 대기팀의 사용자를 DB 에서 찾아 해시를 채움 (DB 에 없는 대기팀은 그대로 둠)
+    private long backfillOwners(String restaurantId) {
+        List<Long> unownedQueueIds = queueRedisRepository.findUnownedQueueIds(restaurantId).stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList());
+        if (unownedQueueIds.isEmpty()) {
+            return 0;
+        }
+
+        List<String> queueIds = new ArrayList<>();
+        List<String> userIds = new ArrayList<>();
+        for (Queue queue : queueRepository.findAllById(unownedQueueIds)) {
+            queueIds.add(String.valueOf(queue.getId()));
+            userIds.add(String.valueOf(queue.getUserId()));
+        }
+        if (queueIds.isEmpty()) {
+            return 0;
+        }
+
+        Long backfilled = queueRedisRepository.backfillOwners(restaurantId, queueIds, userIds);
+        return backfilled == null ? 0 : backfilled;
+    }
+}
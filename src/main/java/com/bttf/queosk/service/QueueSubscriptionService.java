@@ -0,0 +1,127 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.dto.QueueIndexDto;
+import com.bttf.queosk.dto.QueueIndexResponseForm;
+import com.bttf.queosk.dto.QueueWaitTimeDto;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QueueSubscriptionService {
+    private static final long EMITTER_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+    private static final String POSITION_EVENT = "queue-position";
+    private static final long NOT_WAITING = -1L;
+
+    private final QueueRedisRepository queueRedisRepository;
+
+    // 현재 서버 노드에 연결된 구독자 (restaurantId -> userId -> emitter)
+    private final Map<Long, Map<Long, SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    // 사용자의 웨이팅 순서 구독, 구독 즉시 현재 순서를 한 번 전송
+    public SseEmitter subscribe(Long restaurantId, Long userId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+
+        // 등록과 빈 매장 항목 제거가 엇갈리지 않도록 매장 항목 단위로 원자적으로 등록
+        SseEmitter[] previous = new SseEmitter[1];
+        emitters.compute(restaurantId, (id, subscribers) -> {
+            Map<Long, SseEmitter> registered = subscribers == null ? new ConcurrentHashMap<>() : subscribers;
+            previous[0] = registered.put(userId, emitter);
+            return registered;
+        });
+        if (previous[0] != null) {
+            previous[0].complete();
+        }
+
+        emitter.onCompletion(() -> removeEmitter(restaurantId, userId, emitter));
+        emitter.onTimeout(() -> removeEmitter(restaurantId, userId, emitter));
+        emitter.onError(e -> removeEmitter(restaurantId, userId, emitter));
+
+        Long waitingIndex = queueRedisRepository.getUserWaitingIndex(
+                String.valueOf(restaurantId),
+                String.valueOf(userId)
+        );
+        QueueWaitTimeDto waitTime = queueRedisRepository.findWaitTimeStats(String.valueOf(restaurantId));
+        sendPosition(restaurantId, userId, emitter,
+                waitingIndex == null ? NOT_WAITING : waitingIndex, waitTime);
+
+        return emitter;
+    }
+
+    // 대기열이 변경되면 현재 노드의 구독자에게만 새 순서를 전송 (구독자 수와 관계없이 Redis 호출 3회)
+    public void pushPositions(Long restaurantId) {
+        Map<Long, SseEmitter> subscribers = emitters.get(restaurantId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        List<Long> userIds = new ArrayList<>(subscribers.keySet());
+        List<String> queueIds = queueRedisRepository.findQueueIdsOfUsers(
+                String.valueOf(restaurantId),
+                toStrings(userIds)
+        );
+
+        Map<String, Long> indexByQueueId = new HashMap<>();
+        List<String> waitingQueueIds = queueRedisRepository.findAll(String.valueOf(restaurantId));
+        for (int i = 0; i < waitingQueueIds.size(); i++) {
+            indexByQueueId.put(waitingQueueIds.get(i), (long) i);
+        }
+        QueueWaitTimeDto waitTime = queueRedisRepository.findWaitTimeStats(String.valueOf(restaurantId));
+
+        for (int i = 0; i < userIds.size(); i++) {
+            SseEmitter emitter = subscribers.get(userIds.get(i));
+            if (emitter == null) {
+                continue;
+            }
+            String queueId = queueIds.get(i);
+            Long waitingIndex = queueId == null ? null : indexByQueueId.get(queueId);
+
+            sendPosition(restaurantId, userIds.get(i), emitter,
+                    waitingIndex == null ? NOT_WAITING : waitingIndex, waitTime);
+        }
+    }
+
+    // 대기열에서 빠진 경우(입장 차례 또는 취소) 마지막 순서를 보내고 구독 종료
+    private void sendPosition(Long restaurantId, Long userId, SseEmitter emitter,
+                              long waitingIndex, QueueWaitTimeDto waitTime) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .name(POSITION_EVENT)
+                    .data(QueueIndexResponseForm.of(
+                            QueueIndexDto.of(waitingIndex, waitTime, System.currentTimeMillis()))));
+
+            if (waitingIndex == NOT_WAITING) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Queue subscription closed (restaurantId: {}, userId: {})", restaurantId, userId);
+            removeEmitter(restaurantId, userId, emitter);
+        }
+    }
+
+    // 마지막 구독자가 빠지면 매장 항목도 제거해 구독했던 매장 수만큼 맵이 커지지 않도록 함
+    private void removeEmitter(Long restaurantId, Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(restaurantId, (id, subscribers) -> {
+            subscribers.remove(userId, emitter);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private static List<String> toStrings(List<Long> ids) {
+        List<String> values = new ArrayList<>(ids.size());
+        ids.forEach(id -> values.add(String.valueOf(id)));
+        return values;
+    }
+}
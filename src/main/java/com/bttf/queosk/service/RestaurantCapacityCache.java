@@ -0,0 +1,39 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.event.RestaurantSyncEvent;
+import com.bttf.queosk.exception.CustomException;
+import com.bttf.queosk.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.bttf.queosk.exception.ErrorCode.INVALID_RESTAURANT;
+
+@Component
+@RequiredArgsConstructor
+public class RestaurantCapacityCache {
+    public static final long UNLIMITED = 0L;
+
+    private final RestaurantRepository restaurantRepository;
+
+    private final Map<Long, Long> maxWaitingByRestaurant = new ConcurrentHashMap<>();
+
+    // 매장의 최대 웨이팅 수 (설정하지 않았다면 UNLIMITED), 존재하지 않는 매장이라면 예외
+    public long getMaxWaiting(Long restaurantId) {
+        return maxWaitingByRestaurant.computeIfAbsent(restaurantId, id -> {
+            Restaurant restaurant = restaurantRepository.findById(id)
+                    .orElseThrow(() -> new CustomException(INVALID_RESTAURANT));
+            Long maxWaiting = restaurant.getMaxWaiting();
+            return maxWaiting == null || maxWaiting < 0 ? UNLIMITED : maxWaiting;
+        });
+    }
+
+    @EventListener
+    public void evict(RestaurantSyncEvent event) {
+        maxWaitingByRestaurant.remove(event.getRestaurantId());
+    }
+}
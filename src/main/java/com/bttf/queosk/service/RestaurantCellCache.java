@@ -0,0 +1,163 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.common.geo.GeoSearchResult;
+import com.bttf.queosk.common.geo.GeoUtils;
+import com.bttf.queosk.common.geo.Geohash;
+import com.bttf.queosk.common.geo.RestaurantGeoIndex;
+import com.bttf.queosk.dto.RestaurantDto;
+import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.enumerate.RestaurantCategory;
+import com.bttf.queosk.event.RestaurantSyncEvent;
+import com.bttf.queosk.repository.RestaurantRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// 주변 매장 검색 결과를 geohash 칸 단위로 보관 (칸 안의 좌표 차이만 있는 요청은 DB 조회 없이 응답)
+// 칸 중심 기준으로 (필요한 개수 번째 거리 + 칸 대각선) 안의 후보를 모두 보관하므로, 칸 안의 어느 좌표에서든
+// 요청 좌표 기준으로 다시 정렬한 결과가 직접 검색한 결과와 같음
+@Component
+@RequiredArgsConstructor
+public class RestaurantCellCache {
+
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final RestaurantRepository restaurantRepository;
+
+    @Value("${restaurant.cell-cache.precision:7}")
+    private int precision;
+
+    @Value("${restaurant.cell-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // 접근 순서 기준 LRU
+    private final Map<String, CellResult> results = new LinkedHashMap<String, CellResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CellResult> eldest) {
+            return size() > maxEntries;
+        }
+    };
+    // 매장 변경마다 증가, 조회 도중 변경이 있었다면 결과를 보관하지 않음
+    private final AtomicLong version = new AtomicLong();
+
+    // 좌표 색인이 적재된 뒤에만 사용
+    public boolean isAvailable() {
+        return restaurantGeoIndex.isReady();
+    }
+
+    public Page<RestaurantDto> search(double lat, double lng, RestaurantCategory category,
+                                      String keyword, Pageable pageable) {
+        String cell = Geohash.encode(lat, lng, precision);
+        String key = String.join("|", cell, String.valueOf(category),
+                keyword == null ? "" : keyword,
+                String.valueOf(pageable.getPageNumber()), String.valueOf(pageable.getPageSize()));
+
+        CellResult result;
+        synchronized (results) {
+            result = results.get(key);
+        }
+        if (result == null) {
+            long loadedVersion = version.get();
+            result = load(cell, category, keyword, (int) (pageable.getOffset() + pageable.getPageSize()));
+            synchronized (results) {
+                if (version.get() == loadedVersion) {
+                    results.put(key, result);
+                }
+            }
+        }
+
+        List<RestaurantDto> restaurants = result.candidates.stream()
+                .sorted(Comparator.comparingDouble((Candidate candidate) -> candidate.distanceKm(lat, lng))
+                        .thenComparing(candidate -> candidate.restaurant.getId()))
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(candidate -> candidate.restaurant)
+                .collect(Collectors.toList());
+
+        // 전체 매장 수는 칸과 무관하게 바뀌므로 (다른 지역의 가입/탈퇴) 보관하지 않고 색인의 카운터에서 매번 읽음
+        return new PageImpl<>(restaurants, pageable, restaurantGeoIndex.count(category, keyword));
+    }
+
+    // 변경된 매장을 후보로 가진 결과와, 변경 후 위치가 후보 반경 안에 들어오는 결과를 제거 (좌표 색인 갱신 이후 실행)
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void evict(RestaurantSyncEvent event) {
+        Long restaurantId = event.getRestaurantId();
+        version.incrementAndGet();
+        synchronized (results) {
+            results.values().removeIf(result -> result.restaurantIds.contains(restaurantId) ||
+                    restaurantGeoIndex.isWithin(restaurantId, result.centerLat, result.centerLng, result.radiusKm));
+        }
+    }
+
+    private CellResult load(String cell, RestaurantCategory category, String keyword, int needed) {
+        double[] bounds = Geohash.bounds(cell);
+        double centerLat = (bounds[0] + bounds[1]) / 2;
+        double centerLng = (bounds[2] + bounds[3]) / 2;
+        // 칸 중심에서 가장 먼 꼭짓점까지의 거리 (적도에 가까운 쪽 변이 더 길다)
+        double halfDiagonalKm = Math.max(
+                GeoUtils.distanceKm(centerLat, centerLng, bounds[0], bounds[2]),
+                GeoUtils.distanceKm(centerLat, centerLng, bounds[1], bounds[3]));
+
+        GeoSearchResult searchResult = restaurantGeoIndex.searchWithin(
+                centerLat, centerLng, category, keyword, needed, 2 * halfDiagonalKm);
+        List<Long> restaurantIds = searchResult.getRestaurantIds();
+        double radiusKm = restaurantIds.size() < needed ?
+                Double.POSITIVE_INFINITY :
+                searchResult.getDistances().get(needed - 1) + 2 * halfDiagonalKm;
+
+        List<Candidate> candidates = restaurantRepository.findAllById(restaurantIds).stream()
+                .filter(restaurant -> restaurant.getLatitude() != null && restaurant.getLongitude() != null)
+                .map(Candidate::of)
+                .collect(Collectors.toList());
+
+        return new CellResult(centerLat, centerLng, radiusKm, new HashSet<>(restaurantIds), candidates);
+    }
+
+    private static class CellResult {
+        private final double centerLat;
+        private final double centerLng;
+        // 후보를 모은 반경, 이 안에 새로 들어오는 매장이 있다면 결과가 달라질 수 있음
+        private final double radiusKm;
+        private final Set<Long> restaurantIds;
+        private final List<Candidate> candidates;
+
+        private CellResult(double centerLat, double centerLng, double radiusKm, Set<Long> restaurantIds,
+                           List<Candidate> candidates) {
+            this.centerLat = centerLat;
+            this.centerLng = centerLng;
+            this.radiusKm = radiusKm;
+            this.restaurantIds = restaurantIds;
+            this.candidates = candidates;
+        }
+    }
+
+    private static class Candidate {
+        private final RestaurantDto restaurant;
+        private final double lat;
+        private final double lng;
+
+        private Candidate(RestaurantDto restaurant, double lat, double lng) {
+            this.restaurant = restaurant;
+            this.lat = lat;
+            this.lng = lng;
+        }
+
+        private static Candidate of(Restaurant restaurant) {
+            return new Candidate(RestaurantDto.of(restaurant), restaurant.getLatitude(), restaurant.getLongitude());
+        }
+
+        private double distanceKm(double fromLat, double fromLng) {
+            return GeoUtils.distanceKm(fromLat, fromLng, lat, lng);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.bttf.queosk.service;
 
+import com.bttf.queosk.common.geo.RestaurantGeoIndex;
+import com.bttf.queosk.common.geo.TileClusterGrid;
 import com.bttf.queosk.config.JwtTokenProvider;
 import com.bttf.queosk.dto.*;
 import com.bttf.queosk.entity.Menu;
@@ -7,6 +9,8 @@ import com.bttf.queosk.entity.Restaurant;
 import com.bttf.queosk.enumerate.OperationStatus;
 import com.bttf.queosk.enumerate.RestaurantCategory;
 import com.bttf.queosk.enumerate.UserRole;
+import com.bttf.queosk.event.RestaurantChangedEvent;
+import com.bttf.queosk.event.RestaurantNameChangedEvent;
 import com.bttf.queosk.exception.CustomException;
 import com.bttf.queosk.repository.MenuRepository;
 import com.bttf.queosk.repository.RefreshTokenRepository;
@@ -14,6 +18,7 @@ import com.bttf.queosk.repository.RestaurantQueryDSLRepository;
 import com.bttf.queosk.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -24,9 +29,11 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.bttf.queosk.enumerate.RestaurantCategory.ALL;
 import static com.bttf.queosk.exception.ErrorCode.*;
@@ -35,6 +42,8 @@ import static com.bttf.queosk.exception.ErrorCode.*;
 @Service
 @RequiredArgsConstructor
 public class RestaurantService {
+    // 한 번에 조회할 수 있는 지도 타일 수
+    private static final long MAX_CLUSTER_TILES = 1024;
 
     private final RestaurantRepository restaurantRepository;
     private final RefreshTokenRepository refreshTokenRepository;
@@ -45,6 +54,9 @@ public class RestaurantService {
     private final EmailSender emailSender;
     private final MenuRepository menuRepository;
     private final RestaurantQueryDSLRepository restaurantQueryDSLRepository;
+    private final RestaurantCellCache restaurantCellCache;
+    private final RestaurantGeoIndex restaurantGeoIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void signUp(RestaurantSignUpRequestForm restaurantSignUpRequest) throws Exception {
@@ -82,6 +94,8 @@ public class RestaurantService {
 
 
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(RestaurantChangedEvent.of(restaurant.getId()));
+        eventPublisher.publishEvent(RestaurantNameChangedEvent.of(null, restaurant.getRestaurantName()));
     }
 
     public RestaurantSignInDto signIn(RestaurantSignInRequestForm restaurantSignInRequest) {
@@ -122,6 +136,7 @@ public class RestaurantService {
         restaurant.updateImage(imageService.saveFile(image, dir));
 
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(RestaurantChangedEvent.of(restaurant.getId()));
     }
 
     public RestaurantDto getRestaurantInfoFromToken(String token) {
@@ -171,12 +186,14 @@ public class RestaurantService {
         restaurant.delete();
         refreshTokenRepository.deleteByEmail(restaurant.getEmail());
         restaurantRepository.save(restaurant);
-
+        eventPublisher.publishEvent(RestaurantChangedEvent.of(restaurant.getId()));
+        eventPublisher.publishEvent(RestaurantNameChangedEvent.of(restaurant.getRestaurantName(), null));
     }
 
     @Transactional
     public RestaurantDto updateRestaurantInfo(String token, RestaurantUpdateRequestForm updateRestaurantInfoRequest) {
         Restaurant restaurant = getRestaurantByToken(token);
+        String previousName = restaurant.getRestaurantName();
 
         restaurant.updateRestaurantInfo(updateRestaurantInfoRequest);
 
@@ -190,6 +207,11 @@ public class RestaurantService {
         restaurant.setRegion(kakaoGeoAddressService.coordinateToZone(x, y));
 
         restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(RestaurantChangedEvent.of(restaurant.getId()));
+        if (!Objects.equals(previousName, restaurant.getRestaurantName())) {
+            eventPublisher.publishEvent(
+                    RestaurantNameChangedEvent.of(previousName, restaurant.getRestaurantName()));
+        }
 
         return RestaurantDto.of(restaurant);
     }
@@ -201,6 +223,11 @@ public class RestaurantService {
                                                           RestaurantCategory restaurantCategory) {
         Pageable pageable = PageRequest.of(page, size);
 
+        // 같은 geohash 칸의 요청은 칸 단위 캐시에서 응답
+        if (restaurantCellCache.isAvailable()) {
+            return restaurantCellCache.search(y, x, restaurantCategory, null, pageable);
+        }
+
         String category = restaurantCategory.toString();
 
         return restaurantQueryDSLRepository
@@ -214,6 +241,10 @@ public class RestaurantService {
                                                             String keyword) {
         Pageable pageable = PageRequest.of(page, size);
 
+        if (restaurantCellCache.isAvailable()) {
+            return restaurantCellCache.search(y, x, restaurantCategory, keyword, pageable);
+        }
+
         String category = restaurantCategory.toString();
 
         return restaurantQueryDSLRepository
@@ -221,6 +252,42 @@ public class RestaurantService {
                 .map(RestaurantDto::of);
     }
 
+    // 거리순 매장 목록을 커서 단위로 조회 (전체 매장 수는 첫 페이지에서만 계산)
+    public RestaurantCursorDto getCoordRestaurantCursor(Double x, Double y, int size,
+                                                        RestaurantCategory restaurantCategory,
+                                                        String cursor) {
+        return getRestaurantCursor(x, y, size, restaurantCategory.toString(), null, cursor);
+    }
+
+    public RestaurantCursorDto getKeywordRestaurantCursor(Double x, Double y, int size,
+                                                          RestaurantCategory restaurantCategory,
+                                                          String keyword, String cursor) {
+        return getRestaurantCursor(x, y, size, restaurantCategory.toString(), keyword, cursor);
+    }
+
+    // 지도 영역(경도 x, 위도 y)을 줌 레벨 타일로 나눈 매장 집계 (미리 집계된 격자에서 조회)
+    public List<RestaurantClusterDto> getRestaurantClusters(Double minX, Double minY,
+                                                            Double maxX, Double maxY, int zoom) {
+        // 범위를 벗어난 줌 레벨은 타일 좌표가 넘치고, 뒤집힌 영역은 타일 수가 0 으로 계산되므로 먼저 거부
+        if (zoom < 0 || zoom > TileClusterGrid.MAX_ZOOM) {
+            throw new CustomException(INVALID_ZOOM_LEVEL);
+        }
+        if (minX > maxX || minY > maxY) {
+            throw new CustomException(INVALID_MAP_BOUNDS);
+        }
+        if (TileClusterGrid.tileCount(minY, minX, maxY, maxX, zoom) > MAX_CLUSTER_TILES) {
+            throw new CustomException(TOO_MANY_TILES);
+        }
+        // 색인 적재 전에는 집계가 없으므로 빈 목록
+        if (!restaurantGeoIndex.isReady()) {
+            return Collections.emptyList();
+        }
+
+        return restaurantGeoIndex.clusters(minY, minX, maxY, maxX, zoom).stream()
+                .map(RestaurantClusterDto::of)
+                .collect(Collectors.toList());
+    }
+
     public RestaurantDetailsDto getRestaurantInfoAndMenu(Long restaurantId) {
         Restaurant restaurant = getRestaurantById(restaurantId);
         List<Menu> menu = menuRepository.findByRestaurantId(restaurantId);
@@ -228,6 +295,47 @@ public class RestaurantService {
         return RestaurantDetailsDto.of(restaurant, menu);
     }
 
+    // 다음 페이지 유무는 size + 1 개를 조회해 판단, 커서는 마지막 매장의 "거리:id"
+    // (거리는 조회 시 정렬에 사용된 값을 그대로 사용)
+    private RestaurantCursorDto getRestaurantCursor(Double x, Double y, int size,
+                                                    String category, String keyword, String cursor) {
+        if (size < 1) {
+            throw new CustomException(INVALID_PAGE_REQUEST);
+        }
+
+        Double afterDistance = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] values = cursor.split(":");
+                afterDistance = Double.parseDouble(values[0]);
+                afterId = Long.parseLong(values[1]);
+            } catch (RuntimeException e) {
+                throw new CustomException(INVALID_CURSOR);
+            }
+        }
+
+        List<RestaurantDistanceDto> restaurants = restaurantQueryDSLRepository.getRestaurantListByDistanceAfter(
+                x, y, size + 1, category, keyword, afterDistance, afterId);
+
+        String nextCursor = null;
+        if (restaurants.size() > size) {
+            restaurants = restaurants.subList(0, size);
+            RestaurantDistanceDto last = restaurants.get(size - 1);
+            nextCursor = last.getDistance() + ":" + last.getRestaurant().getId();
+        }
+
+        Long totalCount = afterDistance == null ?
+                restaurantQueryDSLRepository.countRestaurants(category, keyword) :
+                null;
+
+        return RestaurantCursorDto.of(
+                restaurants.stream().map(RestaurantDistanceDto::getRestaurant).collect(Collectors.toList()),
+                nextCursor,
+                totalCount
+        );
+    }
+
     private Restaurant getRestaurantByOwnerId(String restaurantOwnerId) {
         return restaurantRepository.findByOwnerId(restaurantOwnerId)
                 .orElseThrow(() -> new CustomException(INVALID_USER_ID));
@@ -3,18 +3,27 @@ package com.bttf.queosk.service;
 import com.bttf.queosk.dto.UserHistoryDto;
 import com.bttf.queosk.entity.MenuItem;
 import com.bttf.queosk.entity.Order;
-import com.bttf.queosk.entity.Restaurant;
 import com.bttf.queosk.enumerate.OrderStatus;
+import com.bttf.queosk.exception.CustomException;
 import com.bttf.queosk.repository.MenuItemRepository;
 import com.bttf.queosk.repository.OrderRepository;
 import com.bttf.queosk.repository.RestaurantRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static com.bttf.queosk.exception.ErrorCode.INVALID_PAGE_REQUEST;
+
 @RequiredArgsConstructor
 @Service
 public class UserHistoryService {
@@ -22,20 +31,39 @@ public class UserHistoryService {
     private final RestaurantRepository restaurantRepository;
     private final MenuItemRepository menuItemRepository;
 
+    // 다음 페이지 유무(hasNext)를 함께 반환해 클라이언트가 목록의 끝을 알 수 있도록 함
     @Transactional(readOnly = true)
-    public List<UserHistoryDto> getUserHistories(Long userId) {
-        List<Order> orders = orderRepository.findByUserIdAndStatusNotOrderByCreatedAtDesc(
-                userId, OrderStatus.IN_PROGRESS
+    public Slice<UserHistoryDto> getUserHistories(Long userId, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new CustomException(INVALID_PAGE_REQUEST);
+        }
+
+        Slice<Order> orders = orderRepository.findByUserIdAndStatusNotOrderByCreatedAtDesc(
+                userId, OrderStatus.IN_PROGRESS, PageRequest.of(page, size)
         );
+        if (!orders.hasContent()) {
+            return new SliceImpl<>(Collections.emptyList(), orders.getPageable(), false);
+        }
 
-        return orders.stream()
-                .map(order -> {
-                    String restaurantName = restaurantRepository.findById(order.getRestaurantId())
-                            .map(Restaurant::getRestaurantName)
-                            .orElse(null);
-                    List<MenuItem> menuItems = menuItemRepository.findAllByOrderId(order.getId());
-                    return UserHistoryDto.of(order, restaurantName, menuItems);
-                })
+        // 주문마다 매장, 메뉴 항목을 조회하지 않고 페이지 단위로 한 번씩 조회
+        Set<Long> restaurantIds = orders.stream()
+                .map(Order::getRestaurantId)
+                .collect(Collectors.toSet());
+        // 매장명이 null 인 매장도 있으므로 null 값을 허용하지 않는 toMap 대신 HashMap 에 직접 담음
+        Map<Long, String> restaurantNames = new HashMap<>();
+        restaurantRepository.findAllById(restaurantIds)
+                .forEach(restaurant -> restaurantNames.put(restaurant.getId(), restaurant.getRestaurantName()));
+
+        List<Long> orderIds = orders.stream()
+                .map(Order::getId)
                 .collect(Collectors.toList());
+        Map<Long, List<MenuItem>> menuItemsByOrderId =
+                menuItemRepository.findAllWithMenuByOrderIdIn(orderIds).stream()
+                        .collect(Collectors.groupingBy(menuItem -> menuItem.getOrder().getId()));
+
+        return orders.map(order -> UserHistoryDto.of(
+                order,
+                restaurantNames.get(order.getRestaurantId()),
+                menuItemsByOrderId.getOrDefault(order.getId(), Collections.emptyList())));
     }
 }
@@ -0,0 +1,15 @@
+-- 기준 시각 이후 지난 반감기 수가 기준 이상이면 모든 점수를 2^반감기 수 로 나누고 기준 시각을 그만큼 옮김
+-- (점수 간 비율은 유지되고, 이후 더하는 가중치가 다시 1 부근에서 시작해 double 범위를 벗어나지 않음)
+-- KEYS[1] : 자동완성 ZSET, KEYS[2] : 감쇠 기준 시각
+-- ARGV[1] : 현재 시각(ms), ARGV[2] : 반감기(ms), ARGV[3] : 기준 시각 기본값(ms), ARGV[4] : 재조정할 최소 반감기 수
+-- 반환값 : 옮긴 반감기 수 (재조정하지 않았다면 0)
+local epoch = tonumber(redis.call('GET', KEYS[2]) or ARGV[3])
+local halfLifeMillis = tonumber(ARGV[2])
+local halfLives = math.floor((tonumber(ARGV[1]) - epoch) / halfLifeMillis)
+if halfLives < tonumber(ARGV[4]) then
+    return 0
+end
+
+redis.call('ZUNIONSTORE', KEYS[1], 1, KEYS[1], 'WEIGHTS', 2 ^ (-halfLives))
+redis.call('SET', KEYS[2], string.format('%d', epoch + halfLives * halfLifeMillis))
+return halfLives
@@ -0,0 +1,19 @@
+-- 등록된 자동완성 단어에만 인기 점수를 더함 (없는 단어는 추가하지 않음)
+-- 같은 사용자가 같은 단어를 반복 선택해도 중복 반영 방지 시간 동안은 한 번만 반영
+-- KEYS[1] : 자동완성 ZSET, KEYS[2] : 감쇠 기준 시각, KEYS[3] : 사용자별 선택 기록
+-- ARGV[1] : 단어, ARGV[2] : 현재 시각(ms), ARGV[3] : 반감기(ms), ARGV[4] : 기준 시각 기본값(ms)
+-- ARGV[5] : 중복 반영 방지 시간(초)
+if not redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+    return nil
+end
+if not redis.call('SET', KEYS[3], '1', 'NX', 'EX', ARGV[5]) then
+    return redis.call('ZSCORE', KEYS[1], ARGV[1])
+end
+
+-- 기준 시각은 점수 재조정과 함께 옮겨지므로 같은 스크립트 안에서 읽어 가중치 계산
+local epoch = tonumber(redis.call('GET', KEYS[2]) or ARGV[4])
+local weight = 2 ^ ((tonumber(ARGV[2]) - epoch) / tonumber(ARGV[3]))
+if weight ~= weight or weight == math.huge or weight <= 0 then
+    return redis.error_reply('ERR auto-complete weight is not finite')
+end
+return redis.call('ZINCRBY', KEYS[1], weight, ARGV[1])
@@ -0,0 +1,6 @@
+-- 매장 주문 이벤트 스트림에 이벤트를 추가하고 오래된 이벤트는 대략적인 개수 기준으로 정리
+-- KEYS[1] : 매장 주문 이벤트 스트림
+-- ARGV[1] : 최대 보관 개수, ARGV[2] : TTL(초), ARGV[3] : 이벤트 종류, ARGV[4] : 주문 JSON
+local id = redis.call('XADD', KEYS[1], 'MAXLEN', '~', ARGV[1], '*', 'type', ARGV[3], 'payload', ARGV[4])
+redis.call('EXPIRE', KEYS[1], ARGV[2])
+return id
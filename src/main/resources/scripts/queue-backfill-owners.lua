@@ -0,0 +1,21 @@
+-- 사용자/소유자 해시 도입 이전에 등록된 대기팀의 해시 항목을 채움 (아직 대기열에 남아있는 팀만)
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : TTL(초), ARGV[2..] : queueId, userId 쌍
+-- 사용자가 이미 다른 웨이팅으로 등록되어 있다면 기존 항목을 덮어쓰지 않음
+-- 반환값 : 채워진 대기팀 수
+local filled = 0
+for i = 2, #ARGV, 2 do
+    local queueId = ARGV[i]
+    local userId = ARGV[i + 1]
+    local waiting = redis.call('LPOS', KEYS[1], queueId) or redis.call('ZSCORE', KEYS[2], queueId)
+    if waiting and redis.call('HEXISTS', KEYS[5], queueId) == 0
+            and redis.call('HSETNX', KEYS[4], userId, queueId) == 1 then
+        redis.call('HSET', KEYS[5], queueId, userId)
+        filled = filled + 1
+    end
+end
+
+if filled > 0 then
+    redis.call('EXPIRE', KEYS[4], ARGV[1])
+    redis.call('EXPIRE', KEYS[5], ARGV[1])
+end
+return filled
@@ -0,0 +1,17 @@
+-- 사용자의 웨이팅을 대기열과 사용자 해시에서 제거
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : 저장 방식, ARGV[2] : userId
+-- 반환값 : 취소된 queueId, 사용자 해시에 없다면 nil
+local queueId = redis.call('HGET', KEYS[4], ARGV[2])
+if not queueId then
+    return false
+end
+
+if ARGV[1] == 'SORTED_SET' then
+    redis.call('ZREM', KEYS[2], queueId)
+else
+    redis.call('LREM', KEYS[1], 0, queueId)
+end
+
+redis.call('HDEL', KEYS[4], ARGV[2])
+redis.call('HDEL', KEYS[5], queueId)
+return queueId
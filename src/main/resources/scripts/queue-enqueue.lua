@@ -0,0 +1,38 @@
+-- 중복 확인, 정원 확인, 대기열 삽입, TTL 설정을 한 번의 호출로 원자적으로 처리
+-- KEYS[1] : 리스트 대기열, KEYS[2] : 정렬셋 대기열, KEYS[3] : 티켓 카운터
+-- KEYS[4] : userId -> queueId 해시, KEYS[5] : queueId -> userId 해시
+-- ARGV[1] : 저장 방식, ARGV[2] : TTL(초), ARGV[3] : userId, ARGV[4] : queueId
+-- ARGV[5] : 최대 대기팀 수 (0 이면 제한 없음)
+-- 반환값 : 등록된 대기열 인덱스, 이미 대기중인 사용자라면 -1, 대기열이 가득 찼다면 -2
+if redis.call('HEXISTS', KEYS[4], ARGV[3]) == 1 then
+    return -1
+end
+
+local limit = tonumber(ARGV[5]) or 0
+local waiting
+if ARGV[1] == 'SORTED_SET' then
+    waiting = redis.call('ZCARD', KEYS[2])
+else
+    waiting = redis.call('LLEN', KEYS[1])
+end
+if limit > 0 and waiting >= limit then
+    return -2
+end
+
+local index
+if ARGV[1] == 'SORTED_SET' then
+    local ticket = redis.call('INCR', KEYS[3])
+    redis.call('ZADD', KEYS[2], ticket, ARGV[4])
+    index = waiting
+    redis.call('EXPIRE', KEYS[2], ARGV[2])
+    redis.call('EXPIRE', KEYS[3], ARGV[2])
+else
+    index = redis.call('RPUSH', KEYS[1], ARGV[4]) - 1
+    redis.call('EXPIRE', KEYS[1], ARGV[2])
+end
+
+redis.call('HSET', KEYS[4], ARGV[3], ARGV[4])
+redis.call('HSET', KEYS[5], ARGV[4], ARGV[3])
+redis.call('EXPIRE', KEYS[4], ARGV[2])
+redis.call('EXPIRE', KEYS[5], ARGV[2])
+return index
@@ -0,0 +1,15 @@
+-- 정렬셋 대기열(KEYS[2])을 리스트(KEYS[1])로 되돌림 (LIST 모드 롤백용)
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : TTL(초)
+local ids = redis.call('ZRANGE', KEYS[2], 0, -1)
+if #ids == 0 then
+    return 0
+end
+
+-- 롤백 도중 리스트에 먼저 들어온 팀이 있다면, 정렬셋의 팀들을 그 앞 순서로 배치
+for i = #ids, 1, -1 do
+    redis.call('LPUSH', KEYS[1], ids[i])
+end
+
+redis.call('DEL', KEYS[2], KEYS[3])
+redis.call('EXPIRE', KEYS[1], ARGV[1])
+return #ids
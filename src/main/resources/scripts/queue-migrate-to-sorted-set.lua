@@ -0,0 +1,23 @@
+-- 리스트 대기열(KEYS[1])을 티켓 번호 기반 정렬셋(KEYS[2])으로 이전
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : TTL(초)
+local ids = redis.call('LRANGE', KEYS[1], 0, -1)
+if #ids == 0 then
+    return 0
+end
+
+-- 이전 도중 정렬셋에 먼저 들어온 팀이 있다면, 리스트의 팀들을 그 앞 순서로 배치
+local head = redis.call('ZRANGE', KEYS[2], 0, 0, 'WITHSCORES')
+for i, id in ipairs(ids) do
+    local ticket
+    if #head > 0 then
+        ticket = tonumber(head[2]) - #ids + i - 1
+    else
+        ticket = redis.call('INCR', KEYS[3])
+    end
+    redis.call('ZADD', KEYS[2], 'NX', ticket, id)
+end
+
+redis.call('DEL', KEYS[1])
+redis.call('EXPIRE', KEYS[2], ARGV[1])
+redis.call('EXPIRE', KEYS[3], ARGV[1])
+return #ids
@@ -0,0 +1,20 @@
+-- 첫 번째 대기팀을 꺼내고 사용자 해시에서도 함께 제거
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : 저장 방식
+-- 반환값 : 꺼낸 queueId, 대기열이 비어있다면 nil
+local queueId
+if ARGV[1] == 'SORTED_SET' then
+    queueId = redis.call('ZPOPMIN', KEYS[2])[1]
+else
+    queueId = redis.call('LPOP', KEYS[1])
+end
+
+if not queueId then
+    return false
+end
+
+local userId = redis.call('HGET', KEYS[5], queueId)
+if userId then
+    redis.call('HDEL', KEYS[4], userId)
+end
+redis.call('HDEL', KEYS[5], queueId)
+return queueId
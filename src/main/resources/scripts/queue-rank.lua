@@ -0,0 +1,12 @@
+-- 사용자 해시로 queueId 를 찾아 대기열 인덱스를 조회 (DB 조회 없이 한 번의 호출)
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : 저장 방식, ARGV[2] : userId
+-- 반환값 : 대기열 인덱스, 사용자 해시나 대기열에 없다면 nil
+local queueId = redis.call('HGET', KEYS[4], ARGV[2])
+if not queueId then
+    return false
+end
+
+if ARGV[1] == 'SORTED_SET' then
+    return redis.call('ZRANK', KEYS[2], queueId)
+end
+return redis.call('LPOS', KEYS[1], queueId)
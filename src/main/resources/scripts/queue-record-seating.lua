@@ -0,0 +1,27 @@
+-- 대기팀 입장(pop) 시점을 기록하고 좌석당 입장 간격과 평균 일행 수의 지수이동평균을 갱신 (O(1))
+-- KEYS[1] : 대기시간 통계 해시
+-- ARGV[1] : 입장 시각(ms), ARGV[2] : 일행 수, ARGV[3] : 감쇠 계수(0~1)
+-- ARGV[4] : 반영할 최대 입장 간격(ms), ARGV[5] : TTL(초)
+local now = tonumber(ARGV[1])
+local party = math.max(tonumber(ARGV[2]), 1)
+local alpha = tonumber(ARGV[3])
+
+local last = tonumber(redis.call('HGET', KEYS[1], 'lastSeatedAt'))
+-- 영업 종료 등으로 간격이 너무 길다면 평균에 반영하지 않음
+if last and now > last and now - last <= tonumber(ARGV[4]) then
+    local millisPerSeat = (now - last) / party
+    local average = tonumber(redis.call('HGET', KEYS[1], 'millisPerSeat'))
+    if average then
+        millisPerSeat = alpha * millisPerSeat + (1 - alpha) * average
+    end
+    redis.call('HSET', KEYS[1], 'millisPerSeat', tostring(millisPerSeat))
+end
+
+local averageParty = tonumber(redis.call('HGET', KEYS[1], 'partySize'))
+if averageParty then
+    party = alpha * party + (1 - alpha) * averageParty
+end
+
+redis.call('HSET', KEYS[1], 'partySize', tostring(party), 'lastSeatedAt', ARGV[1])
+redis.call('EXPIRE', KEYS[1], ARGV[5])
+return 1
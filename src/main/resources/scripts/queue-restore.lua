@@ -0,0 +1,31 @@
+-- 재구성한 대기 순서로 매장의 대기열 키를 다시 작성 (Redis 장애 등으로 키가 모두 사라진 경우에만)
+-- 대기열 키가 하나라도 남아있다면 다른 노드가 처리중인 등록/입장/취소가 반영된 상태일 수 있으므로 건드리지 않음
+-- KEYS : queue-enqueue.lua 와 동일, ARGV[1] : 저장 방식, ARGV[2] : TTL(초)
+-- ARGV[3..] : 대기 순서대로 queueId, userId 쌍
+-- 반환값 : 복원된 팀 수, 대기열 키가 남아있어 복원하지 않았다면 -1
+if redis.call('EXISTS', KEYS[1], KEYS[2], KEYS[4], KEYS[5]) > 0 then
+    return -1
+end
+
+local count = (#ARGV - 2) / 2
+for i = 1, count do
+    local queueId = ARGV[1 + i * 2]
+    local userId = ARGV[2 + i * 2]
+    if ARGV[1] == 'SORTED_SET' then
+        redis.call('ZADD', KEYS[2], i, queueId)
+    else
+        redis.call('RPUSH', KEYS[1], queueId)
+    end
+    redis.call('HSET', KEYS[4], userId, queueId)
+    redis.call('HSET', KEYS[5], queueId, userId)
+end
+
+if count > 0 then
+    if ARGV[1] == 'SORTED_SET' then
+        redis.call('SET', KEYS[3], count)
+    end
+    for i = 1, 5 do
+        redis.call('EXPIRE', KEYS[i], ARGV[2])
+    end
+end
+return count
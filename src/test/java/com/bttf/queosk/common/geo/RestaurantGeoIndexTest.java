@@ -0,0 +1,210 @@
+package com.bttf.queosk.common.geo;
+
+import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.enumerate.RestaurantCategory;
+import com.bttf.queosk.event.RestaurantSyncEvent;
+import com.bttf.queosk.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("매장 좌표 색인 테스트코드")
+class RestaurantGeoIndexTest {
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private RestaurantGeoIndex restaurantGeoIndex;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        restaurantGeoIndex = new RestaurantGeoIndex(restaurantRepository);
+    }
+
+    @Test
+    @DisplayName("주변 매장 검색 (성공-거리순, 카테고리 필터, 페이지)")
+    public void testSearch_nearestWithCategory() {
+        // given
+        load(restaurant(1L, 37.5000, 127.0000, RestaurantCategory.KOREAN, "가까운 한식"),
+                restaurant(2L, 37.5100, 127.0000, RestaurantCategory.KOREAN, "조금 먼 한식"),
+                restaurant(3L, 37.5010, 127.0000, RestaurantCategory.JAPANESE, "가까운 일식"),
+                restaurant(4L, 37.6000, 127.1000, RestaurantCategory.KOREAN, "먼 한식"));
+
+        // when
+        GeoSearchResult firstPage =
+                restaurantGeoIndex.search(37.5, 127.0, RestaurantCategory.KOREAN, null, 0, 2);
+        GeoSearchResult secondPage =
+                restaurantGeoIndex.search(37.5, 127.0, RestaurantCategory.KOREAN, null, 2, 2);
+
+        // then
+        assertThat(firstPage.getRestaurantIds()).containsExactly(1L, 2L);
+        assertThat(firstPage.getTotalCount()).isEqualTo(3L);
+        assertThat(secondPage.getRestaurantIds()).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("주변 매장 검색 (성공-격자 탐색 결과가 전체 거리 계산 결과와 동일)")
+    public void testSearch_ringSearchMatchesBruteForce() {
+        // given
+        Random random = new Random(42);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            restaurants.add(restaurant(id,
+                    37.4 + random.nextDouble() * 0.3,
+                    126.9 + random.nextDouble() * 0.3,
+                    RestaurantCategory.values()[random.nextInt(5)], "매장" + id));
+        }
+        load(restaurants.toArray(new Restaurant[0]));
+
+        double lat = 37.55;
+        double lng = 127.05;
+        List<Long> expected = restaurants.stream()
+                .filter(restaurant -> restaurant.getCategory() == RestaurantCategory.CHINESE)
+                .sorted(Comparator.comparingDouble((Restaurant restaurant) -> GeoUtils.distanceKm(
+                        lat, lng, restaurant.getLatitude(), restaurant.getLongitude())))
+                .map(Restaurant::getId)
+                .skip(20)
+                .limit(20)
+                .collect(Collectors.toList());
+
+        // when
+        GeoSearchResult result =
+                restaurantGeoIndex.search(lat, lng, RestaurantCategory.CHINESE, null, 20, 20);
+
+        // then
+        assertThat(result.getRestaurantIds()).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("키워드 매장 검색 (성공-이름에 포함된 매장만 거리순, 변경 반영)")
+    public void testSearch_keyword() {
+        // given
+        load(restaurant(1L, 37.5000, 127.0000, RestaurantCategory.KOREAN, "명동 만두집"),
+                restaurant(2L, 37.5100, 127.0000, RestaurantCategory.KOREAN, "만두 전문점"),
+                restaurant(3L, 37.5010, 127.0000, RestaurantCategory.KOREAN, "두만강 식당"),
+                restaurant(4L, 37.5020, 127.0000, RestaurantCategory.WESTERN, "Burger Mandu"));
+        when(restaurantRepository.findById(2L)).thenReturn(Optional.of(
+                restaurant(2L, 37.5100, 127.0000, RestaurantCategory.KOREAN, "국수 전문점")));
+
+        // when
+        GeoSearchResult mandu = restaurantGeoIndex.search(37.5, 127.0, RestaurantCategory.ALL, "만두", 0, 10);
+        GeoSearchResult manduShop = restaurantGeoIndex.search(37.5, 127.0, RestaurantCategory.ALL, "만두집", 0, 10);
+        GeoSearchResult english = restaurantGeoIndex.search(37.5, 127.0, RestaurantCategory.ALL, "mandu", 0, 10);
+        restaurantGeoIndex.refresh(RestaurantSyncEvent.of(2L));
+        GeoSearchResult afterRename =
+                restaurantGeoIndex.search(37.5, 127.0, RestaurantCategory.ALL, "만두", 0, 10);
+
+        // then
+        assertThat(mandu.getRestaurantIds()).containsExactly(1L, 2L);
+        assertThat(mandu.getTotalCount()).isEqualTo(2L);
+        assertThat(manduShop.getRestaurantIds()).containsExactly(1L);
+        assertThat(english.getRestaurantIds()).containsExactly(4L);
+        assertThat(afterRename.getRestaurantIds()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("커서 다음 매장 검색 (성공-페이지를 이어 붙이면 전체 거리순과 동일)")
+    public void testSearchAfter_pagesMatchFullOrder() {
+        // given
+        Random random = new Random(7);
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            restaurants.add(restaurant(id,
+                    37.4 + random.nextDouble() * 0.3,
+                    126.9 + random.nextDouble() * 0.3,
+                    RestaurantCategory.KOREAN, "매장" + id));
+        }
+        load(restaurants.toArray(new Restaurant[0]));
+
+        double lat = 37.55;
+        double lng = 127.05;
+        List<Long> expected = restaurantGeoIndex.search(lat, lng, RestaurantCategory.ALL, null, 0, 150)
+                .getRestaurantIds();
+
+        // when
+        List<Long> paged = new ArrayList<>();
+        Double afterDistance = null;
+        Long afterId = null;
+        for (int page = 0; page < 3; page++) {
+            GeoSearchResult result = restaurantGeoIndex.searchAfter(
+                    lat, lng, RestaurantCategory.ALL, null, afterDistance, afterId, 50);
+            paged.addAll(result.getRestaurantIds());
+            int last = result.getRestaurantIds().size() - 1;
+            afterDistance = result.getDistances().get(last);
+            afterId = result.getRestaurantIds().get(last);
+        }
+
+        // then
+        assertThat(paged).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    @DisplayName("지도 타일 집계 (성공-줌 레벨별 개수, 평균 좌표, 카테고리, 변경 반영)")
+    public void testClusters() {
+        // given
+        load(restaurant(1L, 37.5000, 127.0000, RestaurantCategory.KOREAN, "한식1"),
+                restaurant(2L, 37.5002, 127.0002, RestaurantCategory.KOREAN, "한식2"),
+                restaurant(3L, 37.5004, 127.0004, RestaurantCategory.JAPANESE, "일식"),
+                restaurant(4L, 35.1796, 129.0756, RestaurantCategory.KOREAN, "부산 한식"));
+        when(restaurantRepository.findById(3L)).thenReturn(Optional.empty());
+
+        // when
+        List<TileCluster> country = restaurantGeoIndex.clusters(33.0, 124.0, 39.0, 132.0, 6);
+        List<TileCluster> seoul = restaurantGeoIndex.clusters(37.4, 126.9, 37.6, 127.1, 14);
+        restaurantGeoIndex.refresh(RestaurantSyncEvent.of(3L));
+        List<TileCluster> seoulAfterDelete = restaurantGeoIndex.clusters(37.4, 126.9, 37.6, 127.1, 14);
+
+        // then
+        assertThat(country).hasSize(2);
+        assertThat(seoul).hasSize(1);
+        assertThat(seoul.get(0).getCount()).isEqualTo(3L);
+        assertThat(seoul.get(0).getLatitude()).isCloseTo(37.5002, within(1e-9));
+        assertThat(seoul.get(0).getCategoryCounts())
+                .containsEntry(RestaurantCategory.KOREAN, 2L)
+                .containsEntry(RestaurantCategory.JAPANESE, 1L);
+        assertThat(seoulAfterDelete.get(0).getCount()).isEqualTo(2L);
+        assertThat(seoulAfterDelete.get(0).getCategoryCounts()).doesNotContainKey(RestaurantCategory.JAPANESE);
+    }
+
+    @Test
+    @DisplayName("거리 계산 (서울-부산 약 325km)")
+    public void testDistanceKm() {
+        assertThat(GeoUtils.distanceKm(37.5665, 126.9780, 35.1796, 129.0756)).isBetween(320.0, 330.0);
+    }
+
+    private void load(Restaurant... restaurants) {
+        List<Restaurant> content = new ArrayList<>();
+        for (Restaurant restaurant : restaurants) {
+            content.add(restaurant);
+        }
+        when(restaurantRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(content));
+        restaurantGeoIndex.load();
+    }
+
+    private static Restaurant restaurant(Long id, double lat, double lng,
+                                         RestaurantCategory category, String name) {
+        return Restaurant.builder()
+                .id(id)
+                .latitude(lat)
+                .longitude(lng)
+                .category(category)
+                .restaurantName(name)
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package com.bttf.queosk.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+@DisplayName("비동기 실행기 설정 테스트코드")
+class AsyncConfigTest {
+
+    @Test
+    @DisplayName("알림 실행기 (큐가 가득 차면 예외 없이 버리고 버린 건수를 집계)")
+    public void testNotificationExecutor_countsRejected() throws InterruptedException {
+        // given
+        AsyncConfig asyncConfig = new AsyncConfig();
+        ReflectionTestUtils.setField(asyncConfig, "poolSize", 1);
+        ReflectionTestUtils.setField(asyncConfig, "queueCapacity", 1);
+        ThreadPoolTaskExecutor executor = asyncConfig.notificationExecutor();
+        executor.initialize();
+
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        // when
+        executor.execute(blocked); // 실행중
+        executor.execute(blocked); // 대기열
+        assertThatCode(() -> executor.execute(blocked)).doesNotThrowAnyException();
+        assertThatCode(() -> executor.execute(blocked)).doesNotThrowAnyException();
+        release.countDown();
+        executor.shutdown();
+
+        // then
+        assertThat(asyncConfig.getRejectedNotificationCount()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("기본 실행기 (알림 실행기와 별도로 spring.task.execution 설정의 실행기를 제공)")
+    public void testApplicationTaskExecutor_separateFromNotification() {
+        // given
+        AsyncConfig asyncConfig = new AsyncConfig();
+
+        // when
+        ThreadPoolTaskExecutor executor = asyncConfig.applicationTaskExecutor(
+                new TaskExecutorBuilder().threadNamePrefix("task-"));
+
+        // then
+        assertThat(executor.getThreadNamePrefix()).isEqualTo("task-");
+    }
+}
@@ -0,0 +1,189 @@
+package com.bttf.queosk.config;
+
+import com.bttf.queosk.repository.IdempotencyRedisRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.StreamUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bttf.queosk.config.IdempotencyFilter.IDEMPOTENCY_KEY_HEADER;
+import static com.bttf.queosk.config.IdempotencyFilter.IDEMPOTENT_REPLAYED_HEADER;
+import static com.bttf.queosk.repository.IdempotencyRedisRepository.IN_PROGRESS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("멱등키 필터 테스트코드")
+class IdempotencyFilterTest {
+    private static final String TOKEN = "Bearer token";
+    private static final String ORDER_URI = "/api/user/order";
+    private static final String ORDER_BODY = "{\"tableId\":1,\"menuId\":2,\"count\":1}";
+
+    @Mock
+    private IdempotencyRedisRepository idempotencyRedisRepository;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    private IdempotencyFilter idempotencyFilter;
+
+    // Redis 대신 사용하는 저장소
+    private final Map<String, String> store = new HashMap<>();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        idempotencyFilter = new IdempotencyFilter(idempotencyRedisRepository, jwtTokenProvider, new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyFilter, "ttlHours", 24L);
+
+        when(jwtTokenProvider.getIdFromToken(TOKEN)).thenReturn(1L);
+        when(idempotencyRedisRepository.find(anyString()))
+                .thenAnswer(invocation -> store.get(invocation.<String>getArgument(0)));
+        when(idempotencyRedisRepository.reserve(anyString(), anyLong()))
+                .thenAnswer(invocation -> store.putIfAbsent(invocation.getArgument(0), IN_PROGRESS) == null);
+        doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(idempotencyRedisRepository).save(anyString(), anyString(), anyLong());
+        doAnswer(invocation -> store.remove(invocation.<String>getArgument(0)))
+                .when(idempotencyRedisRepository).delete(anyString());
+    }
+
+    @Test
+    @DisplayName("재시도 요청 (성공-처음 응답을 그대로 재생하고 다시 처리하지 않음)")
+    public void testReplay() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            assertThat(StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8))
+                    .isEqualTo(ORDER_BODY);
+            ((HttpServletResponse) response).setStatus(201);
+            ((HttpServletResponse) response).setHeader(HttpHeaders.LOCATION, "/api/user/order/1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write("{\"orderId\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        // when
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(orderRequest("key-1"), first, chain);
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(orderRequest("key-1"), retry, chain);
+
+        // then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(retry.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/user/order/1");
+        assertThat(retry.getHeader(IDEMPOTENT_REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IDEMPOTENT_REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 본문 요청 (실패-422 로 응답하고 처음 응답을 재생하지 않음)")
+    public void testKeyReusedWithDifferentBody() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+            response.getOutputStream().write("{\"orderId\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+        idempotencyFilter.doFilter(orderRequest("key-1"), new MockHttpServletResponse(), chain);
+
+        MockHttpServletRequest otherOrder = orderRequest("key-1");
+        otherOrder.setContent("{\"tableId\":1,\"menuId\":3,\"count\":5}".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(otherOrder, response, chain);
+
+        // then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(response.getContentAsString()).contains("IDEMPOTENCY_KEY_REUSED");
+        assertThat(response.getHeader(IDEMPOTENT_REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("처리중인 요청과 같은 키 (실패-409 로 즉시 응답)")
+    public void testInProgress() throws Exception {
+        // given
+        store.put("1:" + ORDER_URI + ":key-1", IN_PROGRESS);
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> executions.incrementAndGet();
+
+        // when
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        idempotencyFilter.doFilter(orderRequest("key-1"), response, chain);
+
+        // then
+        assertThat(executions.get()).isZero();
+        assertThat(response.getStatus()).isEqualTo(409);
+        assertThat(response.getContentAsString()).contains("IDEMPOTENT_REQUEST_IN_PROGRESS");
+    }
+
+    @Test
+    @DisplayName("서버 오류 응답 (성공-저장하지 않고 재시도 시 다시 처리)")
+    public void testServerErrorNotStored() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        };
+
+        // when
+        idempotencyFilter.doFilter(orderRequest("key-1"), new MockHttpServletResponse(), chain);
+        idempotencyFilter.doFilter(orderRequest("key-1"), new MockHttpServletResponse(), chain);
+
+        // then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(store).isEmpty();
+    }
+
+    @Test
+    @DisplayName("멱등키가 없는 요청 (성공-기존과 동일하게 처리)")
+    public void testWithoutKey() throws Exception {
+        // given
+        AtomicInteger executions = new AtomicInteger();
+        FilterChain chain = (request, response) -> executions.incrementAndGet();
+
+        // when
+        idempotencyFilter.doFilter(orderRequest(null), new MockHttpServletResponse(), chain);
+        idempotencyFilter.doFilter(orderRequest(null), new MockHttpServletResponse(), chain);
+
+        // then
+        assertThat(executions.get()).isEqualTo(2);
+        verify(idempotencyRedisRepository, never()).find(anyString());
+    }
+
+    private static MockHttpServletRequest orderRequest(String idempotencyKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", ORDER_URI);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(ORDER_BODY.getBytes(StandardCharsets.UTF_8));
+        request.addHeader(HttpHeaders.AUTHORIZATION, TOKEN);
+        if (idempotencyKey != null) {
+            request.addHeader(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,191 @@
+package com.bttf.queosk.repository;
+
+import com.bttf.queosk.enumerate.QueueStorageMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.bttf.queosk.enumerate.QueueStorageMode.LIST;
+import static com.bttf.queosk.enumerate.QueueStorageMode.SORTED_SET;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("대기열 Redis 스크립트 테스트코드")
+class QueueRedisRepositoryTest {
+    private static final String RESTAURANT_ID = "1";
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static RedisTemplate<String, String> redisTemplate;
+
+    @BeforeAll
+    static void setUpRedis() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setDefaultSerializer(new StringRedisSerializer());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void tearDownRedis() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    public void setUp() {
+        redisTemplate.getRequiredConnectionFactory().getConnection().flushAll();
+    }
+
+    @Test
+    @DisplayName("리스트 -> 정렬셋 이전 (성공-순서 유지, 이후 등록은 마지막 순서, 재실행 시 변경 없음)")
+    public void testMigrateListToSortedSet() {
+        // given
+        QueueRedisRepository listRepository = repository(LIST);
+        enqueue(listRepository, "a", "b", "c");
+        QueueRedisRepository sortedSetRepository = repository(SORTED_SET);
+
+        // when
+        Long migrated = sortedSetRepository.migrateToCurrentStorageMode(RESTAURANT_ID);
+        sortedSetRepository.enqueue(RESTAURANT_ID, "user-d", "d", 0);
+        Long rerun = sortedSetRepository.migrateToCurrentStorageMode(RESTAURANT_ID);
+
+        // then
+        assertThat(migrated).isEqualTo(3L);
+        assertThat(rerun).isZero();
+        assertThat(sortedSetRepository.findAll(RESTAURANT_ID)).containsExactly("a", "b", "c", "d");
+        assertThat(redisTemplate.hasKey(RESTAURANT_ID)).isFalse();
+        assertThat(sortedSetRepository.getUserWaitingIndex(RESTAURANT_ID, "user-c")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("리스트 -> 정렬셋 이전 (성공-이전 도중 정렬셋에 먼저 등록된 팀은 리스트 팀들 뒤 순서)")
+    public void testMigrateListToSortedSet_withNewEntries() {
+        // given
+        enqueue(repository(LIST), "a", "b");
+        QueueRedisRepository sortedSetRepository = repository(SORTED_SET);
+        sortedSetRepository.enqueue(RESTAURANT_ID, "user-c", "c", 0);
+
+        // when
+        sortedSetRepository.migrateToCurrentStorageMode(RESTAURANT_ID);
+        sortedSetRepository.enqueue(RESTAURANT_ID, "user-d", "d", 0);
+
+        // then
+        assertThat(sortedSetRepository.findAll(RESTAURANT_ID)).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    @DisplayName("정렬셋 -> 리스트 이전 (성공-순서 유지, 티켓 키 정리, 재실행 시 변경 없음)")
+    public void testMigrateSortedSetToList() {
+        // given
+        enqueue(repository(SORTED_SET), "a", "b", "c");
+        QueueRedisRepository listRepository = repository(LIST);
+
+        // when
+        Long migrated = listRepository.migrateToCurrentStorageMode(RESTAURANT_ID);
+        Long rerun = listRepository.migrateToCurrentStorageMode(RESTAURANT_ID);
+        listRepository.enqueue(RESTAURANT_ID, "user-d", "d", 0);
+
+        // then
+        assertThat(migrated).isEqualTo(3L);
+        assertThat(rerun).isZero();
+        assertThat(listRepository.findAll(RESTAURANT_ID)).containsExactly("a", "b", "c", "d");
+        assertThat(redisTemplate.hasKey("queue:{1}:waiting")).isFalse();
+        assertThat(redisTemplate.hasKey("queue:{1}:ticket")).isFalse();
+    }
+
+    @Test
+    @DisplayName("이전 대상 선별 (성공-다른 방식의 키가 남아있는 매장만 0 보다 큼)")
+    public void testCountWaitingInOtherStorageMode() {
+        // given
+        QueueRedisRepository listRepository = repository(LIST);
+        listRepository.enqueue("1", "user-a", "a", 0);
+        repository(SORTED_SET).enqueue("2", "user-b", "b", 0);
+
+        // when & then
+        assertThat(repository(SORTED_SET).countWaitingInOtherStorageMode(Arrays.asList("1", "2", "3")))
+                .containsExactly(1L, 0L, 0L);
+        assertThat(listRepository.countWaitingInOtherStorageMode(Arrays.asList("1", "2", "3")))
+                .containsExactly(0L, 1L, 0L);
+        assertThat(listRepository.countOwnersOfRestaurants(Collections.singletonList("3")))
+                .containsExactly(0L);
+    }
+
+    @Test
+    @DisplayName("대기열 복원 (성공-키가 모두 사라진 경우에만 복원, 남아있다면 덮어쓰지 않음)")
+    public void testRestoreQueue_onlyWhenMissing() {
+        // given
+        QueueRedisRepository repository = repository(SORTED_SET);
+
+        // when
+        Long restored = repository.restoreQueue(RESTAURANT_ID,
+                Arrays.asList("a", "b"), Arrays.asList("user-a", "user-b"));
+        repository.enqueue(RESTAURANT_ID, "user-c", "c", 0);
+        Long skipped = repository.restoreQueue(RESTAURANT_ID,
+                Collections.singletonList("a"), Collections.singletonList("user-a"));
+
+        // then
+        assertThat(restored).isEqualTo(2L);
+        assertThat(skipped).isEqualTo(QueueRedisRepository.RESTORE_SKIPPED);
+        assertThat(repository.findAll(RESTAURANT_ID)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    @DisplayName("소유자 해시 보정 (성공-해시 도입 이전 대기팀은 중복 등록이 막히고, 대기열에 없는 팀은 채우지 않음)")
+    public void testBackfillOwners_legacyEntries() {
+        // given
+        QueueRedisRepository repository = repository(LIST);
+        redisTemplate.opsForList().rightPushAll(RESTAURANT_ID, "a", "b");
+        enqueue(repository, "c");
+
+        // when
+        assertThat(repository.countUnownedWaitingOfRestaurants(Collections.singletonList(RESTAURANT_ID)))
+                .containsExactly(2L);
+        assertThat(repository.findUnownedQueueIds(RESTAURANT_ID)).containsExactly("a", "b");
+        Long backfilled = repository.backfillOwners(RESTAURANT_ID,
+                Arrays.asList("a", "b", "x"), Arrays.asList("user-a", "user-c", "user-x"));
+
+        // then
+        // b 의 사용자는 이미 c 로 대기중이므로 기존 항목을 덮어쓰지 않음
+        assertThat(backfilled).isEqualTo(1L);
+        assertThat(repository.enqueue(RESTAURANT_ID, "user-a", "d", 0))
+                .isEqualTo(QueueRedisRepository.ALREADY_WAITING);
+        assertThat(repository.findUserIdsOfQueues(RESTAURANT_ID, Arrays.asList("a", "b", "x")))
+                .containsExactly("user-a", null, null);
+        assertThat(repository.getUserWaitingIndex(RESTAURANT_ID, "user-c")).isEqualTo(2L);
+
+        assertThat(repository.popTheFirstTeamOfQueue(RESTAURANT_ID)).isEqualTo("a");
+        assertThat(repository.findQueueIdsOfUsers(RESTAURANT_ID, Collections.singletonList("user-a")))
+                .containsExactly((String) null);
+    }
+
+    private static QueueRedisRepository repository(QueueStorageMode storageMode) {
+        QueueRedisRepository repository = new QueueRedisRepository(redisTemplate);
+        ReflectionTestUtils.setField(repository, "storageMode", storageMode);
+        return repository;
+    }
+
+    private static void enqueue(QueueRedisRepository repository, String... queueIds) {
+        for (String queueId : queueIds) {
+            repository.enqueue(RESTAURANT_ID, "user-" + queueId, queueId, 0);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bttf.queosk.repository;
+
+import com.bttf.queosk.common.geo.RestaurantGeoIndex;
+import com.bttf.queosk.dto.RestaurantDistanceDto;
+import com.bttf.queosk.entity.QRestaurant;
+import com.bttf.queosk.entity.Restaurant;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.bttf.queosk.enumerate.RestaurantCategory.KOREAN;
+import static com.querydsl.core.types.dsl.MathExpressions.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 엔티티 이름(table, order 등)이 H2 예약어라 식별자를 모두 따옴표로 감싸 생성
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.globally_quoted_identifiers=true")
+@DisplayName("매장 QueryDSL 레포지토리 테스트코드")
+class RestaurantQueryDSLRepositoryTest {
+    private static final int REQUESTS = 1000;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    private final RestaurantQueryDSLRepository restaurantQueryDSLRepository =
+            new RestaurantQueryDSLRepository(null, null, null);
+
+    @Test
+    @DisplayName("거리 계산식 (성공-좌표가 달라도 같은 JPQL 생성)")
+    public void testCalculateDistance_sameQueryForEveryCoordinate() {
+        // given
+        Random random = new Random(42);
+        Set<String> boundQueries = new HashSet<>();
+        Set<String> literalQueries = new HashSet<>();
+
+        // when
+        for (int i = 0; i < REQUESTS; i++) {
+            double lat = 33 + random.nextDouble() * 5;
+            double lng = 124 + random.nextDouble() * 7;
+
+            boundQueries.add(toJpql(ReflectionTestUtils.invokeMethod(
+                    restaurantQueryDSLRepository, "calculateDistance", lat, lng)));
+            literalQueries.add(toJpql(literalDistance(lat, lng)));
+        }
+
+        // then
+        // 쿼리 플랜 캐시 항목 수 = 서로 다른 JPQL 수 (리터럴 방식은 요청마다 새 항목, 바인드 방식은 하나를 재사용)
+        assertThat(literalQueries).hasSize(REQUESTS);
+        assertThat(boundQueries).hasSize(1);
+        assertThat(boundQueries.iterator().next()).contains("?1").doesNotContain("37.");
+    }
+
+    @Test
+    @DisplayName("거리순 조회 (성공-검색 좌표와 같은 위치의 매장도 거리 0 으로 포함)")
+    public void testGetRestaurantListByDistanceAfter_samePoint() {
+        // given
+        // 이 위도에서는 같은 좌표라도 코사인 값이 1.0000000000000002 로 계산됨
+        double lat = 35.1796;
+        double lng = 126.978;
+        Restaurant restaurant = testEntityManager.persistFlushFind(Restaurant.builder()
+                .restaurantName("부산 매장")
+                .category(KOREAN)
+                .latitude(lat)
+                .longitude(lng)
+                .build());
+
+        RestaurantGeoIndex restaurantGeoIndex = mock(RestaurantGeoIndex.class);
+        when(restaurantGeoIndex.isReady()).thenReturn(false);
+        RestaurantQueryDSLRepository repository = new RestaurantQueryDSLRepository(
+                testEntityManager.getEntityManager(),
+                new JPAQueryFactory(testEntityManager.getEntityManager()),
+                restaurantGeoIndex);
+
+        // when
+        List<RestaurantDistanceDto> results = repository.getRestaurantListByDistanceAfter(
+                lng, lat, 10, "ALL", null, null, null);
+
+        // then
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getRestaurant().getId()).isEqualTo(restaurant.getId());
+        assertThat(results.get(0).getDistance()).isEqualTo(0.0);
+    }
+
+    private static String toJpql(NumberExpression<Double> distance) {
+        QRestaurant qRestaurant = QRestaurant.restaurant;
+        return new JPAQuery<>()
+                .select(qRestaurant)
+                .from(qRestaurant)
+                .where(distance.isNotNull())
+                .orderBy(distance.asc())
+                .toString();
+    }
+
+    // 변경 전 calculateDistance 그대로 (위도를 문자열로 직접 삽입, acos 와 행 좌표의 radians 변환 없음)
+    // 이후 거리 식 자체도 바뀌었으므로 결과 값이 아닌 생성되는 JPQL 의 종류만 비교
+    private static NumberExpression<Double> literalDistance(double lat, double lng) {
+        QRestaurant qRestaurant = QRestaurant.restaurant;
+        NumberExpression<Double> latExpression = Expressions.numberTemplate(Double.class, String.valueOf(lat));
+        NumberExpression<Double> cosLat = cos(radians(latExpression));
+        NumberExpression<Double> sinLat = sin(radians(latExpression));
+
+        NumberExpression<Double> acosValue = cosLat
+                .multiply(cos(qRestaurant.latitude))
+                .multiply(cos(qRestaurant.longitude.subtract(lng)))
+                .add(sinLat.multiply(sin(qRestaurant.latitude)));
+
+        return acosValue
+                .multiply(Expressions.numberTemplate(Double.class, "6371"))
+                .doubleValue();
+    }
+}
@@ -0,0 +1,106 @@
+package com.bttf.queosk.repository;
+
+import com.bttf.queosk.entity.Table;
+import com.bttf.queosk.enumerate.TableStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bttf.queosk.enumerate.TableStatus.OPEN;
+import static com.bttf.queosk.enumerate.TableStatus.USING;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 엔티티 이름(table, order 등)이 H2 예약어라 식별자를 모두 따옴표로 감싸 생성
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.globally_quoted_identifiers=true")
+@DisplayName("테이블 레포지토리 테스트코드")
+class TableRepositoryTest {
+    private static final int CLAIMS = 100;
+
+    @Autowired
+    private TableRepository tableRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void tearDown() {
+        tableRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("테이블 선점 (동시 요청-각자 트랜잭션의 조건부 UPDATE 중 한 건만 1 행 변경)")
+    public void testUpdateStatusIfCurrent_concurrentClaims() throws InterruptedException {
+        // given
+        Long tableId = tableRepository.save(Table.builder()
+                .name("1번")
+                .restaurantId(1L)
+                .status(OPEN)
+                .build()).getId();
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CLAIMS);
+        AtomicInteger claimed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < CLAIMS; i++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    Integer updated = transactionTemplate.execute(status ->
+                            tableRepository.updateStatusIfCurrent(tableId, OPEN, USING));
+                    if (updated != null && updated == 1) {
+                        claimed.incrementAndGet();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // then
+        assertThat(claimed.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(CLAIMS - 1);
+        assertThat(tableRepository.findById(tableId).map(Table::getStatus)).contains(USING);
+    }
+
+    @Test
+    @DisplayName("테이블 선점 (실패-이미 사용중인 테이블은 변경하지 않음)")
+    public void testUpdateStatusIfCurrent_alreadyUsing() {
+        // given
+        Long tableId = tableRepository.save(Table.builder()
+                .name("2번")
+                .restaurantId(1L)
+                .status(USING)
+                .build()).getId();
+
+        // when
+        int updated = tableRepository.updateStatusIfCurrent(tableId, OPEN, USING);
+
+        // then
+        assertThat(updated).isZero();
+        assertThat(tableRepository.findById(tableId).map(Table::getStatus)).contains(TableStatus.USING);
+    }
+}
@@ -1,21 +1,31 @@
 package com.bttf.queosk.service;
 
+import com.bttf.queosk.common.autocomplete.AutoCompleteIndex;
 import com.bttf.queosk.dto.AutoCompleteDto;
+import com.bttf.queosk.event.RestaurantNameChangedEvent;
+import com.bttf.queosk.exception.CustomException;
+import com.bttf.queosk.exception.ErrorCode;
+import com.bttf.queosk.repository.RestaurantRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
-import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.Set;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
 @DisplayName("검색어 자동완성 관련 테스트코드")
@@ -27,12 +37,24 @@ public class AutoCompleteServiceTest {
     @Mock
     private ZSetOperations<String, String> zSetOperations;
 
-    @InjectMocks
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private AutoCompleteIndex autoCompleteIndex;
+
     private AutoCompleteService autoCompleteService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.initMocks(this);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        autoCompleteIndex = new AutoCompleteIndex(redisTemplate, redisMessageListenerContainer);
+        autoCompleteService = new AutoCompleteService(redisTemplate, autoCompleteIndex, restaurantRepository);
+        ReflectionTestUtils.setField(autoCompleteService, "maxResults", 10);
+        ReflectionTestUtils.setField(autoCompleteService, "halfLifeHours", 168L);
     }
 
     @Test
@@ -42,13 +64,13 @@ public class AutoCompleteServiceTest {
         String restaurant = "테스트!!";
 
         // When
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-        when(zSetOperations.add(eq("autocomplete"), eq(restaurant), eq(0.0))).thenReturn(true);
+        when(zSetOperations.addIfAbsent(eq("autocomplete"), eq(restaurant), eq(0.0))).thenReturn(true);
 
         autoCompleteService.addAutoCompleteWord(restaurant);
 
         // Then
-        verify(zSetOperations).add(eq("autocomplete"), eq(restaurant), eq(0.0));
+        verify(zSetOperations).addIfAbsent(eq("autocomplete"), eq(restaurant), eq(0.0));
+        verify(redisTemplate).convertAndSend("autocomplete:changed", restaurant);
     }
 
     @Test
@@ -58,58 +80,186 @@ public class AutoCompleteServiceTest {
         String restaurant = "테스트!!";
 
         // When
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
         when(zSetOperations.remove(eq("autocomplete"), eq(restaurant))).thenReturn(1L);
 
         autoCompleteService.deleteAutoCompleteWord(restaurant);
 
         // Then
         verify(zSetOperations).remove(eq("autocomplete"), eq(restaurant));
+        verify(redisTemplate).convertAndSend("autocomplete:changed", restaurant);
     }
 
-
     @Test
     @DisplayName("검색어 자동완성(일반)")
     public void testSearchKeywords_NormalSearch() {
         // Given
-        String input = "테스트";
-        String[] keywords = {"테스트1", "테스트2", "기타"};
-
-        Set<ZSetOperations.TypedTuple<String>> rankedKeywords = new LinkedHashSet<>();
-        for (String keyword : keywords) {
-            ZSetOperations.TypedTuple<String> tuple = mock(ZSetOperations.TypedTuple.class);
-            when(tuple.getValue()).thenReturn(keyword);
-            when(tuple.getScore()).thenReturn(1.0); // 모든 검색어의 점수 동일하게 설정
-            rankedKeywords.add(tuple);
-        }
-
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-        when(redisTemplate.opsForZSet().rangeWithScores("autocomplete", 0, -1)).thenReturn(rankedKeywords);
+        autoCompleteIndex.put("테스트1", 0);
+        autoCompleteIndex.put("새 테스트2", 3);
+        autoCompleteIndex.put("기타", 5);
 
         // When
-        AutoCompleteDto autoCompleteDto = autoCompleteService.autoComplete(input);
+        AutoCompleteDto autoCompleteDto = autoCompleteService.autoComplete("테스트");
 
         // Then
-        assertThat(autoCompleteDto.getRestaurants()).containsExactly("테스트1", "테스트2");
+        assertThat(autoCompleteDto.getRestaurants()).containsExactly("새 테스트2", "테스트1");
+        verify(zSetOperations, never()).rangeWithScores(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("검색어 자동완성(입력 중인 음절)")
+    public void testSearchKeywords_PartialSyllable() {
+        // Given
+        autoCompleteIndex.put("치킨나라", 0);
+        autoCompleteIndex.put("치즈가게", 0);
+        autoCompleteIndex.put("닭갈비", 0);
+
+        // When & Then
+        assertThat(autoCompleteService.autoComplete("칰").getRestaurants()).containsExactly("치킨나라");
+        assertThat(autoCompleteService.autoComplete("치ㅋ").getRestaurants()).containsExactly("치킨나라");
+        assertThat(autoCompleteService.autoComplete("치").getRestaurants()).containsExactly("치즈가게", "치킨나라");
+        assertThat(autoCompleteService.autoComplete("달ㄱ").getRestaurants()).containsExactly("닭갈비");
     }
 
     @Test
     @DisplayName("검색어 자동완성(초성)")
     public void testSearchKeywords_ConsonantSearch() {
         // Given
-        String input = "ㄱ";
+        autoCompleteIndex.put("가게", 0);
+        autoCompleteIndex.put("갈비집", 0);
+        autoCompleteIndex.put("기타", 0);
+        autoCompleteIndex.put("나비", 0);
 
-        Set<String> consonantKeywords = new HashSet<>(Arrays.asList("가게", "갈비집", "기타"));
+        // When
+        AutoCompleteDto single = autoCompleteService.autoComplete("ㄱ");
+        AutoCompleteDto multiple = autoCompleteService.autoComplete("ㅂㅈ");
 
-        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
-        when(redisTemplate.opsForZSet().rangeByScore("autocomplete", 0, 0))
-                .thenReturn(consonantKeywords);
+        // Then
+        assertThat(single.getRestaurants()).containsExactly("가게", "갈비집", "기타");
+        assertThat(multiple.getRestaurants()).containsExactly("갈비집");
+    }
+
+    @Test
+    @DisplayName("검색어 자동완성(다른 노드의 변경 반영, 최대 개수)")
+    public void testSearchKeywords_RefreshAndLimit() {
+        // Given
+        ReflectionTestUtils.setField(autoCompleteService, "maxResults", 2);
+        autoCompleteIndex.put("김밥천국", 0);
+        autoCompleteIndex.put("김밥나라", 0);
+        autoCompleteIndex.put("김밥마을", 0);
+        when(zSetOperations.score("autocomplete", "김밥천국")).thenReturn(null);
+
+        // When
+        autoCompleteIndex.refresh("김밥천국");
+        AutoCompleteDto autoCompleteDto = autoCompleteService.autoComplete("김밥");
+
+        // Then
+        assertThat(autoCompleteDto.getRestaurants()).containsExactly("김밥나라", "김밥마을");
+    }
+
+    @Test
+    @DisplayName("검색어 선택 기록 (성공)")
+    public void testSelectAutoCompleteWord() {
+        // Given
+        ReflectionTestUtils.setField(autoCompleteService, "selectionCooldownMinutes", 10L);
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(Arrays.asList("autocomplete", "{autocomplete}:epoch", "{autocomplete}:selected:1:김밥천국")),
+                eq("김밥천국"), anyString(), eq("604800000"), eq("1672531200000"), eq("600")))
+                .thenReturn("12.5");
+
+        // When
+        autoCompleteService.selectAutoCompleteWord(1L, "김밥천국");
+
+        // Then
+        verify(redisTemplate).convertAndSend("autocomplete:changed", "김밥천국");
+    }
+
+    @Test
+    @DisplayName("검색어 선택 기록 (실패-등록되지 않은 단어)")
+    public void testSelectAutoCompleteWord_NotFound() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any(), any()))
+                .thenReturn(null);
+
+        // When & Then
+        assertThatThrownBy(() -> autoCompleteService.selectAutoCompleteWord(1L, "없는 매장"))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.AUTOCOMPLETE_WORD_NOT_FOUND);
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("검색어 선택 기록 (실패-반감기가 0 이하면 가중치를 계산하지 않음)")
+    public void testSelectAutoCompleteWord_invalidHalfLife() {
+        // Given
+        ReflectionTestUtils.setField(autoCompleteService, "halfLifeHours", 0L);
+
+        // When & Then
+        assertThatThrownBy(() -> autoCompleteService.selectAutoCompleteWord(1L, "김밥천국"))
+                .isInstanceOf(IllegalStateException.class);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("인기 점수 재조정 (재조정되면 모든 노드가 색인을 다시 읽도록 전파)")
+    public void testRescaleScores() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(Arrays.asList("autocomplete", "{autocomplete}:epoch")),
+                anyString(), eq("604800000"), eq("1672531200000"), eq("16")))
+                .thenReturn(198L);
+
+        // When
+        autoCompleteService.rescaleScores();
+
+        // Then
+        verify(redisTemplate).convertAndSend("autocomplete:rescaled", "198");
+    }
+
+    @Test
+    @DisplayName("인기 점수 재조정 (기준 시각이 최근이면 전파하지 않음)")
+    public void testRescaleScores_notNeeded() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenReturn(0L);
+
+        // When
+        autoCompleteService.rescaleScores();
+
+        // Then
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("기동 시 매장 이름으로 사전 동기화")
+    public void testBootstrap() {
+        // Given
+        when(restaurantRepository.findActiveRestaurantNames(any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList("김밥천국", "국수나무"), PageRequest.of(0, 1000), true))
+                .thenReturn(new SliceImpl<>(Collections.singletonList("버거킹"), PageRequest.of(1, 1000), false));
+
+        // When
+        autoCompleteService.bootstrap();
+
+        // Then
+        verify(restaurantRepository, times(2)).findActiveRestaurantNames(any(Pageable.class));
+        verify(redisTemplate, times(2)).executePipelined(any(SessionCallback.class));
+        verify(zSetOperations).rangeWithScores("autocomplete", 0, -1);
+    }
+
+    @Test
+    @DisplayName("매장 이름 변경 반영 (같은 이름의 다른 매장이 있다면 이전 이름 유지)")
+    public void testOnRestaurantNameChanged() {
+        // Given
+        when(restaurantRepository.existsByRestaurantNameAndIsDeleted("김밥천국", false)).thenReturn(false);
+        when(restaurantRepository.existsByRestaurantNameAndIsDeleted("스타벅스", false)).thenReturn(true);
 
         // When
-        AutoCompleteDto autoCompleteDto = autoCompleteService.autoComplete(input);
+        autoCompleteService.onRestaurantNameChanged(RestaurantNameChangedEvent.of("김밥천국", "김밥나라"));
+        autoCompleteService.onRestaurantNameChanged(RestaurantNameChangedEvent.of("스타벅스", null));
 
         // Then
-        assertThat(autoCompleteDto.getRestaurants())
-                .containsExactly("기타", "갈비집", "가게");
+        verify(zSetOperations).remove("autocomplete", "김밥천국");
+        verify(zSetOperations).addIfAbsent("autocomplete", "김밥나라", 0);
+        verify(zSetOperations, never()).remove("autocomplete", "스타벅스");
     }
-}
\ No newline at end of file
+}
@@ -1,26 +1,50 @@
 package com.bttf.queosk.service;
 
 import com.bttf.queosk.dto.OrderCreationRequestForm;
+import com.bttf.queosk.dto.OrderDto;
+import com.bttf.queosk.dto.OrderEventDto;
 import com.bttf.queosk.entity.*;
+import com.bttf.queosk.enumerate.MenuStatus;
 import com.bttf.queosk.enumerate.OperationStatus;
+import com.bttf.queosk.enumerate.OrderEventType;
 import com.bttf.queosk.enumerate.OrderStatus;
 import com.bttf.queosk.enumerate.TableStatus;
+import com.bttf.queosk.event.OrderChangedEvent;
+import com.bttf.queosk.exception.CustomException;
 import com.bttf.queosk.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.bttf.queosk.enumerate.MenuStatus.ON_SALE;
+import static com.bttf.queosk.enumerate.MenuStatus.SOLD_OUT;
+import static com.bttf.queosk.enumerate.OrderStatus.IN_PROGRESS;
+import static com.bttf.queosk.exception.ErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 @DisplayName("주문 관련 테스트코드")
@@ -44,6 +68,9 @@ public class OrderServiceTest {
     @Mock
     private TableRepository tableRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.initMocks(this);
@@ -76,12 +103,6 @@ public class OrderServiceTest {
                 .restaurantId(restaurantId)
                 .build();
 
-        Table table = Table.builder()
-                .id(1L)
-                .status(TableStatus.OPEN)
-                .restaurantId(1L)
-                .build();
-
         OrderCreationRequestForm.MenuItems menuItem1 = OrderCreationRequestForm.MenuItems.builder()
                 .menu(1L)
                 .count(2)
@@ -102,15 +123,179 @@ public class OrderServiceTest {
                         .build();
 
         given(restaurantRepository.findById(1L)).willReturn(Optional.of(restaurant));
-        given(tableRepository.findById(1L)).willReturn(Optional.of(table));
-        given(menuRepository.findById(1L)).willReturn(Optional.of(menu1));
-        given(menuRepository.findById(2L)).willReturn(Optional.of(menu2));
+        given(tableRepository.updateStatusIfCurrent(tableId, TableStatus.OPEN, TableStatus.USING)).willReturn(1);
+        given(menuRepository.findAllById(any())).willReturn(Arrays.asList(menu1, menu2));
 
         // When
         orderService.createOrder(orderCreationForm, 1L);
 
         // Then
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(menuRepository, times(1)).findAllById(any());
+        verify(menuRepository, never()).findById(any());
+        verify(menuItemRepository, times(1)).saveAll(any());
+
+        ArgumentCaptor<OrderChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getRestaurantId()).isEqualTo(restaurantId);
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(OrderEventType.CREATED);
+        assertThat(eventCaptor.getValue().getOrder().getMenuItems())
+                .extracting(OrderEventDto.Item::getMenuId, OrderEventDto.Item::getCount)
+                .containsExactly(tuple(1L, 2), tuple(2L, 1));
+    }
+
+    @Test
+    @DisplayName("주문생성 (실패-다른 매장의 메뉴 포함)")
+    public void createOrder_fail_menuRestaurantNotMatch() {
+        // Given
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING)).willReturn(1);
+        given(menuRepository.findAllById(any())).willReturn(Arrays.asList(
+                menu(1L, 1L, ON_SALE), menu(2L, 2L, ON_SALE)));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(orderForm(1L, 2L), 1L))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", MENU_RESTAURANT_NOT_MATCH);
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("주문생성 (실패-존재하지 않는 메뉴 포함)")
+    public void createOrder_fail_menuNotFound() {
+        // Given
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING)).willReturn(1);
+        given(menuRepository.findAllById(any())).willReturn(Collections.singletonList(menu(1L, 1L, ON_SALE)));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(orderForm(1L, 3L), 1L))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", MENU_NOT_FOUND);
+    }
+
+    @Test
+    @DisplayName("주문생성 (실패-매진된 메뉴 포함)")
+    public void createOrder_fail_menuSoldOut() {
+        // Given
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING)).willReturn(1);
+        given(menuRepository.findAllById(any())).willReturn(Arrays.asList(
+                menu(1L, 1L, ON_SALE), menu(2L, 1L, SOLD_OUT)));
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(orderForm(1L, 2L), 1L))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", MENU_SOLD_OUT);
+    }
+
+    @Test
+    @DisplayName("주문생성 (실패-이미 사용중인 테이블)")
+    public void createOrder_fail_tableIsUsing() {
+        // Given
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(menuRepository.findAllById(any())).willReturn(Collections.singletonList(menu(1L, 1L, ON_SALE)));
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING)).willReturn(0);
+        given(tableRepository.existsById(1L)).willReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(orderForm(1L), 1L))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", TABLE_IS_USING);
+        verify(tableRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(menuItemRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("주문생성 (실패-존재하지 않는 테이블)")
+    public void createOrder_fail_invalidTable() {
+        // Given
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(menuRepository.findAllById(any())).willReturn(Collections.singletonList(menu(1L, 1L, ON_SALE)));
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING)).willReturn(0);
+        given(tableRepository.existsById(1L)).willReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> orderService.createOrder(orderForm(1L), 1L))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_TABLE);
+    }
+
+    @Test
+    // 저장소는 조건부 UPDATE 를 흉내낸 CAS 스텁이므로, 선점 결과가 0 건일 때 재시도 없이 실패하는 서비스 동작만 확인
+    // (실제 DB 의 조건부 UPDATE 경합은 TableRepositoryTest 에서 확인)
+    @DisplayName("주문생성 (선점 실패 시 즉시 거절-같은 테이블에 300건이 동시에 주문해도 한 건만 저장)")
+    public void createOrder_concurrentClaims_failFast() throws InterruptedException {
+        // Given
+        int claims = 300;
+        AtomicReference<TableStatus> tableStatus = new AtomicReference<>(TableStatus.OPEN);
+
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(menuRepository.findAllById(any())).willReturn(Collections.singletonList(menu(1L, 1L, ON_SALE)));
+        given(tableRepository.existsById(1L)).willReturn(true);
+        // 조건부 UPDATE 와 같이 현재 상태가 OPEN 일 때만 USING 으로 변경
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING))
+                .willAnswer(invocation ->
+                        tableStatus.compareAndSet(TableStatus.OPEN, TableStatus.USING) ? 1 : 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(claims);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < claims; i++) {
+            long userId = i + 1;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    orderService.createOrder(orderForm(1L), userId);
+                    succeeded.incrementAndGet();
+                } catch (CustomException e) {
+                    if (e.getErrorCode() == TABLE_IS_USING) {
+                        rejected.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(1);
+        assertThat(rejected.get()).isEqualTo(claims - 1);
+        verify(orderRepository, times(1)).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("주문생성 (성공-메뉴 10개도 한 번에 조회)")
+    public void createOrder_success_manyMenus() {
+        // Given
+        Long[] menuIds = new Long[10];
+        List<Menu> menus = new ArrayList<>();
+        for (int i = 0; i < menuIds.length; i++) {
+            menuIds[i] = (long) i + 1;
+            menus.add(menu(menuIds[i], 1L, ON_SALE));
+        }
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(openRestaurant()));
+        given(tableRepository.updateStatusIfCurrent(1L, TableStatus.OPEN, TableStatus.USING)).willReturn(1);
+        given(menuRepository.findAllById(any())).willReturn(menus);
+
+        // When
+        orderService.createOrder(orderForm(menuIds), 1L);
+
+        // Then
+        verify(menuRepository, times(1)).findAllById(any());
+        verify(menuRepository, never()).findById(any());
+        verify(menuItemRepository, times(1)).saveAll(any());
     }
 
     @Test
@@ -157,5 +342,110 @@ public class OrderServiceTest {
         // Then
         verify(orderRepository, times(1)).save(any(Order.class));
         assertThat(order.getStatus()).isEqualTo(OrderStatus.DONE);
+
+        ArgumentCaptor<OrderChangedEvent> eventCaptor = ArgumentCaptor.forClass(OrderChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(OrderEventType.STATUS_CHANGED);
+        assertThat(eventCaptor.getValue().getOrder().getOrderStatus()).isEqualTo(OrderStatus.DONE);
+    }
+
+    @Test
+    @DisplayName("주문처리중 주문 목록 (성공-메뉴 항목을 한 번에 조회해 주문별로 묶음)")
+    public void readInProgressOrderList_success() {
+        // Given
+        Order order1 = Order.builder().id(1L).restaurantId(1L).tableId(1L).status(IN_PROGRESS).build();
+        Order order2 = Order.builder().id(2L).restaurantId(1L).tableId(2L).status(IN_PROGRESS).build();
+        Order order3 = Order.builder().id(3L).restaurantId(1L).tableId(3L).status(IN_PROGRESS).build();
+        MenuItem item1 = MenuItem.builder().id(1L).order(order1).menu(menu(1L, 1L, ON_SALE)).count(1).build();
+        MenuItem item2 = MenuItem.builder().id(2L).order(order1).menu(menu(2L, 1L, ON_SALE)).count(2).build();
+        MenuItem item3 = MenuItem.builder().id(3L).order(order2).menu(menu(1L, 1L, ON_SALE)).count(3).build();
+
+        given(orderRepository.findAllByRestaurantIdAndStatusOrderByIdAsc(eq(1L), eq(IN_PROGRESS), any(Pageable.class)))
+                .willReturn(Arrays.asList(order1, order2, order3));
+        given(menuItemRepository.findAllWithMenuByOrderIdIn(any()))
+                .willReturn(Arrays.asList(item1, item2, item3));
+
+        // When
+        List<OrderDto> orders = orderService.readInProgressOrderList(1L, 0, 50);
+
+        // Then
+        assertThat(orders).extracting(OrderDto::getId).containsExactly(1L, 2L, 3L);
+        assertThat(orders.get(0).getMenuItems()).containsExactly(item1, item2);
+        assertThat(orders.get(1).getMenuItems()).containsExactly(item3);
+        assertThat(orders.get(2).getMenuItems()).isEmpty();
+        verify(menuItemRepository, times(1)).findAllWithMenuByOrderIdIn(Arrays.asList(1L, 2L, 3L));
+        verify(menuItemRepository, never()).findAllByOrderId(any());
+    }
+
+    @Test
+    @DisplayName("주문처리중 주문 목록 (성공-주문이 없으면 메뉴 항목을 조회하지 않음)")
+    public void readInProgressOrderList_empty() {
+        // Given
+        given(orderRepository.findAllByRestaurantIdAndStatusOrderByIdAsc(eq(1L), eq(IN_PROGRESS), any(Pageable.class)))
+                .willReturn(Collections.emptyList());
+
+        // When
+        List<OrderDto> orders = orderService.readInProgressOrderList(1L, 0, 50);
+
+        // Then
+        assertThat(orders).isEmpty();
+        verify(menuItemRepository, never()).findAllWithMenuByOrderIdIn(any());
+    }
+
+    @Test
+    @DisplayName("주문처리중 주문 목록 (성공-크기를 지정하지 않으면 전체 조회)")
+    public void readInProgressOrderList_unpaged() {
+        // Given
+        given(orderRepository.findAllByRestaurantIdAndStatusOrderByIdAsc(1L, IN_PROGRESS, Pageable.unpaged()))
+                .willReturn(Collections.emptyList());
+
+        // When
+        List<OrderDto> orders = orderService.readInProgressOrderList(1L, 0, null);
+
+        // Then
+        assertThat(orders).isEmpty();
+        verify(orderRepository).findAllByRestaurantIdAndStatusOrderByIdAsc(1L, IN_PROGRESS, Pageable.unpaged());
+    }
+
+    @Test
+    @DisplayName("주문처리중 주문 목록 (실패-잘못된 페이지 크기)")
+    public void readInProgressOrderList_invalidSize() {
+        // When & Then
+        assertThatThrownBy(() -> orderService.readInProgressOrderList(1L, 0, 0))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_PAGE_REQUEST);
+        verify(orderRepository, never()).findAllByRestaurantIdAndStatusOrderByIdAsc(any(), any(), any());
+    }
+
+    private static Restaurant openRestaurant() {
+        return Restaurant.builder()
+                .id(1L)
+                .operationStatus(OperationStatus.OPEN)
+                .build();
+    }
+
+    private static Menu menu(Long id, Long restaurantId, MenuStatus status) {
+        return Menu.builder()
+                .id(id)
+                .name("menu" + id)
+                .price(1000L)
+                .status(status)
+                .restaurantId(restaurantId)
+                .build();
+    }
+
+    private static OrderCreationRequestForm orderForm(Long... menuIds) {
+        List<OrderCreationRequestForm.MenuItems> menuItems = new ArrayList<>();
+        for (Long menuId : menuIds) {
+            menuItems.add(OrderCreationRequestForm.MenuItems.builder()
+                    .menu(menuId)
+                    .count(1)
+                    .build());
+        }
+        return OrderCreationRequestForm.builder()
+                .menuItems(menuItems)
+                .tableId(1L)
+                .restaurantId(1L)
+                .build();
     }
 }
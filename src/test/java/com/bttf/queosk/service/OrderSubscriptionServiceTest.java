@@ -0,0 +1,158 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.repository.OrderEventRedisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.bttf.queosk.repository.OrderEventRedisRepository.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("주문 이벤트 구독 관련 테스트코드")
+class OrderSubscriptionServiceTest {
+    private static final Long RESTAURANT_ID = 1L;
+
+    @Mock
+    private OrderEventRedisRepository orderEventRedisRepository;
+
+    private OrderSubscriptionService orderSubscriptionService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderSubscriptionService = new OrderSubscriptionService(orderEventRedisRepository);
+    }
+
+    @Test
+    @DisplayName("구독 (성공-Last-Event-ID 다음 이벤트부터 이어서 전송)")
+    public void testSubscribe_resumeFromLastEventId() {
+        // given
+        when(orderEventRedisRepository.exists(RESTAURANT_ID, "3-0")).thenReturn(true);
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("3-0"), anyInt()))
+                .thenReturn(Arrays.asList(record("3-0"), record("4-0")));
+
+        // when
+        SseEmitter emitter = orderSubscriptionService.subscribe(RESTAURANT_ID, "3-0");
+
+        // then
+        String sent = sentText(emitter);
+        assertThat(sent).contains("id:4-0", "event:order-created").doesNotContain("id:3-0", "order-reset");
+        verify(orderEventRedisRepository, never()).findLatestId(any());
+    }
+
+    @Test
+    @DisplayName("구독 (성공-스트림에서 정리된 Last-Event-ID 는 목록 재조회를 알리고 최신 위치부터 구독)")
+    public void testSubscribe_trimmedLastEventId() {
+        // given
+        when(orderEventRedisRepository.exists(RESTAURANT_ID, "1-0")).thenReturn(false);
+        when(orderEventRedisRepository.findLatestId(RESTAURANT_ID)).thenReturn("9-0");
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("9-0"), anyInt()))
+                .thenReturn(Collections.singletonList(record("9-0")));
+
+        // when
+        SseEmitter emitter = orderSubscriptionService.subscribe(RESTAURANT_ID, "1-0");
+
+        // then
+        assertThat(sentText(emitter)).contains("event:order-reset", "id:9-0").doesNotContain("order-created");
+    }
+
+    @Test
+    @DisplayName("구독 (성공-형식이 잘못된 Last-Event-ID 는 스트림 조회 없이 목록 재조회 알림)")
+    public void testSubscribe_malformedLastEventId() {
+        // given
+        when(orderEventRedisRepository.findLatestId(RESTAURANT_ID)).thenReturn(EMPTY_STREAM_ID);
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq(EMPTY_STREAM_ID), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        // when
+        SseEmitter emitter = orderSubscriptionService.subscribe(RESTAURANT_ID, "abc");
+
+        // then
+        assertThat(sentText(emitter)).contains("event:order-reset");
+        verify(orderEventRedisRepository, never()).exists(any(), anyString());
+    }
+
+    @Test
+    @DisplayName("이벤트 전송 (성공-태블릿마다 마지막으로 받은 이벤트 이후만 전송, 다시 전송하지 않음)")
+    public void testPushEvents_perEmitterCursor() {
+        // given
+        when(orderEventRedisRepository.exists(eq(RESTAURANT_ID), anyString())).thenReturn(true);
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("2-0"), anyInt()))
+                .thenReturn(Collections.singletonList(record("2-0")));
+        SseEmitter behind = orderSubscriptionService.subscribe(RESTAURANT_ID, "2-0");
+        SseEmitter ahead = orderSubscriptionService.subscribe(RESTAURANT_ID, "4-0");
+
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("2-0"), anyInt()))
+                .thenReturn(Arrays.asList(record("2-0"), record("3-0"), record("4-0"), record("5-0")));
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("5-0"), anyInt()))
+                .thenReturn(Collections.singletonList(record("5-0")));
+
+        // when
+        orderSubscriptionService.pushEvents(RESTAURANT_ID);
+        orderSubscriptionService.pushEvents(RESTAURANT_ID);
+
+        // then
+        assertThat(sentIds(behind)).containsExactly("3-0", "4-0", "5-0");
+        assertThat(sentIds(ahead)).containsExactly("5-0");
+        verify(orderEventRedisRepository, times(1)).findFrom(eq(RESTAURANT_ID), eq("5-0"), anyInt());
+    }
+
+    @Test
+    @DisplayName("이벤트 전송 (성공-연결이 끊긴 마지막 태블릿이 빠지면 매장 항목도 제거)")
+    public void testPushEvents_removesEmptyRestaurant() {
+        // given
+        when(orderEventRedisRepository.findLatestId(RESTAURANT_ID)).thenReturn("1-0");
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("1-0"), anyInt()))
+                .thenReturn(Collections.singletonList(record("1-0")));
+        SseEmitter emitter = orderSubscriptionService.subscribe(RESTAURANT_ID, null);
+        emitter.complete();
+
+        when(orderEventRedisRepository.findFrom(eq(RESTAURANT_ID), eq("1-0"), anyInt()))
+                .thenReturn(Arrays.asList(record("1-0"), record("2-0")));
+
+        // when
+        orderSubscriptionService.pushEvents(RESTAURANT_ID);
+
+        // then
+        Map<?, ?> emitters = (Map<?, ?>) ReflectionTestUtils.getField(orderSubscriptionService, "emitters");
+        assertThat(emitters).isEmpty();
+    }
+
+    private static MapRecord<String, Object, Object> record(String id) {
+        Map<Object, Object> fields = new HashMap<>();
+        fields.put(TYPE_FIELD, "CREATED");
+        fields.put(PAYLOAD_FIELD, "{\"orderId\":1}");
+        return MapRecord.create("order:events:" + RESTAURANT_ID, fields).withId(RecordId.of(id));
+    }
+
+    // 응답에 연결되기 전의 emitter 는 전송한 내용을 보관하므로 그 내용을 이어붙여 확인
+    @SuppressWarnings("unchecked")
+    private static String sentText(SseEmitter emitter) {
+        Set<ResponseBodyEmitter.DataWithMediaType> sent = (Set<ResponseBodyEmitter.DataWithMediaType>)
+                ReflectionTestUtils.getField(emitter, "earlySendAttempts");
+        return sent.stream()
+                .map(data -> String.valueOf(data.getData()))
+                .collect(Collectors.joining());
+    }
+
+    private static List<String> sentIds(SseEmitter emitter) {
+        return Arrays.stream(sentText(emitter).split("\n"))
+                .filter(line -> line.startsWith("id:"))
+                .map(line -> line.substring("id:".length()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.Queue;
+import com.bttf.queosk.entity.User;
+import com.bttf.queosk.event.QueueChangedEvent;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import com.bttf.queosk.repository.QueueRepository;
+import com.bttf.queosk.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static com.bttf.queosk.enumerate.QueueEventType.CANCEL;
+import static com.bttf.queosk.enumerate.QueueEventType.POP;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("웨이팅 알림 관련 테스트코드")
+class QueueNotificationServiceTest {
+    @Mock
+    private QueueRedisRepository queueRedisRepository;
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private FcmService fcmService;
+
+    private QueueNotificationService queueNotificationService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        queueNotificationService = new QueueNotificationService(
+                queueRedisRepository,
+                queueRepository,
+                userRepository,
+                fcmService
+        );
+        ReflectionTestUtils.setField(queueNotificationService, "notifyTopN", 2);
+    }
+
+    @Test
+    @DisplayName("앞 순서 팀 알림 (성공-대기 순서 기준 상위 2팀)")
+    public void testNotifyUpcomingTeams_success() {
+        // given
+        List<String> topQueueIds = Arrays.asList("7", "9");
+        when(queueRedisRepository.findRange("1", 0, 1)).thenReturn(topQueueIds);
+        when(queueRedisRepository.findUserIdsOfQueues("1", topQueueIds))
+                .thenReturn(Arrays.asList("10", null));
+        when(queueRepository.findAllById(Collections.singletonList(9L)))
+                .thenReturn(Collections.singletonList(Queue.builder().id(9L).userId(20L).build()));
+        when(userRepository.findAllById(Arrays.asList(10L, 20L))).thenReturn(Arrays.asList(
+                User.builder().id(10L).email("a@test.com").build(),
+                User.builder().id(20L).email("b@test.com").build()
+        ));
+
+        // when
+        queueNotificationService.notifyUpcomingTeams(QueueChangedEvent.of(1L, POP, 1L, 1L));
+
+        // then
+        verify(fcmService).sendMessageToWaitingUsers(Arrays.asList("a@test.com", "b@test.com"));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("앞 순서 팀 알림 (대기열 당기기가 아닌 이벤트는 무시)")
+    public void testNotifyUpcomingTeams_ignoresOtherEvents() {
+        // when
+        queueNotificationService.notifyUpcomingTeams(QueueChangedEvent.of(1L, CANCEL, 1L, 1L));
+
+        // then
+        verify(queueRedisRepository, never()).findRange(any(), anyLong(), anyLong());
+        verify(fcmService, never()).sendMessageToWaitingUsers(anyList());
+    }
+}
@@ -0,0 +1,221 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.Queue;
+import com.bttf.queosk.entity.QueueCheckpoint;
+import com.bttf.queosk.entity.QueueEvent;
+import com.bttf.queosk.enumerate.QueueEventType;
+import com.bttf.queosk.repository.QueueCheckpointRepository;
+import com.bttf.queosk.repository.QueueEventRepository;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import com.bttf.queosk.repository.QueueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static com.bttf.queosk.enumerate.QueueEventType.CANCEL;
+import static com.bttf.queosk.enumerate.QueueEventType.ENQUEUE;
+import static com.bttf.queosk.enumerate.QueueEventType.POP;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("대기열 재구성 관련 테스트코드")
+class QueueRecoveryServiceTest {
+    @Mock
+    private QueueEventRepository queueEventRepository;
+
+    @Mock
+    private QueueCheckpointRepository queueCheckpointRepository;
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    @Mock
+    private QueueRedisRepository queueRedisRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private QueueRecoveryService queueRecoveryService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        queueRecoveryService = new QueueRecoveryService(
+                queueEventRepository,
+                queueCheckpointRepository,
+                queueRepository,
+                queueRedisRepository,
+                transactionTemplate
+        );
+        ReflectionTestUtils.setField(queueRecoveryService, "checkpointSafetyLagSeconds", 60L);
+    }
+
+    @Test
+    @DisplayName("대기열 재구성 (성공-기준점 이후 이력만 적용해 사라진 Redis 대기열 복원)")
+    public void testRebuild_restoresMissingQueue() {
+        // given
+        QueueCheckpoint checkpoint = QueueCheckpoint.builder()
+                .restaurantId(1L)
+                .lastSequence(100L)
+                .waitingTeams("1:10:" + Instant.now().getEpochSecond()
+                        + ",3:30:" + Instant.now().getEpochSecond())
+                .build();
+        Queue canceledQueue = Queue.builder().id(1L).userId(10L).restaurantId(1L).build();
+        Queue poppedQueue = Queue.builder().id(3L).userId(30L).restaurantId(1L).build();
+
+        when(queueCheckpointRepository.findById(1L)).thenReturn(Optional.of(checkpoint));
+        when(queueEventRepository.findByRestaurantIdAndIdGreaterThanOrderByIdAsc(1L, 100L))
+                .thenReturn(Arrays.asList(
+                        settledEvent(101L, 2L, 20L, ENQUEUE),
+                        settledEvent(102L, 1L, 10L, CANCEL),
+                        settledEvent(103L, 3L, 30L, POP)
+                ));
+        when(queueRepository.findAllById(Collections.singleton(3L)))
+                .thenReturn(Collections.singletonList(poppedQueue));
+        when(queueRedisRepository.restoreQueue("1",
+                Collections.singletonList("2"), Collections.singletonList("20"))).thenReturn(1L);
+
+        // when
+        boolean restored = queueRecoveryService.rebuild(1L);
+
+        // then
+        assertThat(restored).isTrue();
+        assertThat(poppedQueue.isDone()).isTrue();
+        assertThat(canceledQueue.isDone()).isFalse();
+        verify(queueRepository).findAllById(Collections.singleton(3L));
+        verify(queueRedisRepository).addActiveQueue("20", "1", "2");
+
+        ArgumentCaptor<QueueCheckpoint> checkpointCaptor = ArgumentCaptor.forClass(QueueCheckpoint.class);
+        verify(queueCheckpointRepository).save(checkpointCaptor.capture());
+        assertThat(checkpointCaptor.getValue().getLastSequence()).isEqualTo(103L);
+        assertThat(checkpointCaptor.getValue().getWaitingTeams()).startsWith("2:20:");
+    }
+
+    @Test
+    @DisplayName("대기열 재구성 (Redis 대기열 키가 남아있다면 덮어쓰지 않음)")
+    public void testRebuild_liveQueueNotOverwritten() {
+        // given
+        when(queueCheckpointRepository.findById(1L)).thenReturn(Optional.empty());
+        when(queueEventRepository.findByRestaurantIdAndIdGreaterThanOrderByIdAsc(1L, 0L))
+                .thenReturn(Collections.singletonList(
+                        settledEvent(1L, 5L, 50L, ENQUEUE)
+                ));
+        when(queueRedisRepository.restoreQueue(any(), any(), any()))
+                .thenReturn(QueueRedisRepository.RESTORE_SKIPPED);
+
+        // when
+        boolean restored = queueRecoveryService.rebuild(1L);
+
+        // then
+        assertThat(restored).isFalse();
+        verify(queueRedisRepository, never()).addActiveQueue(any(), any(), any());
+        verify(queueRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("대기열 재구성 (대기팀이 없다면 Redis 를 건드리지 않음)")
+    public void testRebuild_noWaitingTeams() {
+        // given
+        when(queueCheckpointRepository.findById(1L)).thenReturn(Optional.empty());
+        when(queueEventRepository.findByRestaurantIdAndIdGreaterThanOrderByIdAsc(1L, 0L))
+                .thenReturn(Arrays.asList(
+                        settledEvent(1L, 5L, 50L, ENQUEUE),
+                        settledEvent(2L, 5L, 50L, CANCEL)
+                ));
+
+        // when
+        boolean restored = queueRecoveryService.rebuild(1L);
+
+        // then
+        assertThat(restored).isFalse();
+        verify(queueRedisRepository, never()).restoreQueue(any(), any(), any());
+        verify(queueRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("대기열 재구성 (늦게 커밋된 낮은 id 의 이력도 다음 재구성에서 반영)")
+    public void testRebuild_lowerIdCommittedLater() {
+        // given
+        QueueCheckpoint checkpoint = QueueCheckpoint.builder()
+                .restaurantId(1L)
+                .lastSequence(100L)
+                .waitingTeams("")
+                .build();
+        when(queueCheckpointRepository.findById(1L)).thenReturn(Optional.of(checkpoint));
+        when(queueRedisRepository.restoreQueue(any(), any(), any()))
+                .thenReturn(QueueRedisRepository.RESTORE_SKIPPED);
+
+        // 처음에는 102 만 커밋된 상태, 이후 101 이 늦게 커밋됨
+        QueueEvent committedFirst = event(102L, 3L, 30L, ENQUEUE, LocalDateTime.now().minusSeconds(5));
+        QueueEvent committedLater = event(101L, 2L, 20L, ENQUEUE, LocalDateTime.now().minusSeconds(6));
+        when(queueEventRepository.findByRestaurantIdAndIdGreaterThanOrderByIdAsc(1L, 100L))
+                .thenReturn(Collections.singletonList(committedFirst))
+                .thenReturn(Arrays.asList(committedLater, committedFirst));
+
+        // when
+        queueRecoveryService.rebuild(1L);
+        assertThat(checkpoint.getLastSequence()).isEqualTo(100L);
+        assertThat(checkpoint.getWaitingTeams()).isEmpty();
+
+        ReflectionTestUtils.setField(committedFirst, "createdAt", LocalDateTime.now().minusMinutes(5));
+        ReflectionTestUtils.setField(committedLater, "createdAt", LocalDateTime.now().minusMinutes(5));
+        queueRecoveryService.rebuild(1L);
+
+        // then
+        assertThat(checkpoint.getLastSequence()).isEqualTo(102L);
+        assertThat(checkpoint.getWaitingTeams()).startsWith("2:20:").contains(",3:30:");
+    }
+
+    @Test
+    @DisplayName("대기열 재구성 (최근 이력은 Redis 복원에는 쓰지만 기준점에는 반영하지 않음)")
+    public void testRebuild_recentEventsNotCheckpointed() {
+        // given
+        QueueCheckpoint checkpoint = QueueCheckpoint.empty(1L);
+        when(queueCheckpointRepository.findById(1L)).thenReturn(Optional.of(checkpoint));
+        when(queueEventRepository.findByRestaurantIdAndIdGreaterThanOrderByIdAsc(1L, 0L))
+                .thenReturn(Arrays.asList(
+                        settledEvent(1L, 5L, 50L, ENQUEUE),
+                        event(2L, 6L, 60L, ENQUEUE, LocalDateTime.now())
+                ));
+        when(queueRedisRepository.restoreQueue("1", Arrays.asList("5", "6"), Arrays.asList("50", "60")))
+                .thenReturn(2L);
+
+        // when
+        boolean restored = queueRecoveryService.rebuild(1L);
+
+        // then
+        assertThat(restored).isTrue();
+        assertThat(checkpoint.getLastSequence()).isEqualTo(1L);
+        assertThat(checkpoint.getWaitingTeams()).startsWith("5:50:").doesNotContain(",");
+    }
+
+    // 기준점 안전 지연보다 오래 전에 커밋된 이력
+    private static QueueEvent settledEvent(Long id, Long queueId, Long userId, QueueEventType type) {
+        return event(id, queueId, userId, type, LocalDateTime.now().minusMinutes(5));
+    }
+
+    private static QueueEvent event(Long id, Long queueId, Long userId, QueueEventType type,
+                                    LocalDateTime createdAt) {
+        QueueEvent event = QueueEvent.builder()
+                .id(id)
+                .restaurantId(1L)
+                .queueId(queueId)
+                .userId(userId)
+                .type(type)
+                .build();
+        ReflectionTestUtils.setField(event, "createdAt", createdAt);
+        return event;
+    }
+}
@@ -4,36 +4,43 @@ import com.bttf.queosk.dto.*;
 import com.bttf.queosk.entity.Queue;
 import com.bttf.queosk.entity.Restaurant;
 import com.bttf.queosk.entity.User;
+import com.bttf.queosk.event.QueueChangedEvent;
 import com.bttf.queosk.enumerate.OperationStatus;
+import com.bttf.queosk.enumerate.QueueEventType;
 import com.bttf.queosk.enumerate.RestaurantCategory;
 import com.bttf.queosk.enumerate.UserRole;
 import com.bttf.queosk.exception.CustomException;
 import com.bttf.queosk.repository.QueueRedisRepository;
 import com.bttf.queosk.repository.QueueRepository;
 import com.bttf.queosk.repository.RestaurantRepository;
-import com.bttf.queosk.repository.UserRepository;
 import org.joda.time.LocalDate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static com.bttf.queosk.exception.ErrorCode.INVALID_PAGE_REQUEST;
 import static com.bttf.queosk.exception.ErrorCode.INVALID_RESTAURANT;
+import static com.bttf.queosk.exception.ErrorCode.QUEUE_ALREADY_EXISTS;
+import static com.bttf.queosk.exception.ErrorCode.QUEUE_IS_FULL;
+import static com.bttf.queosk.exception.ErrorCode.TOO_MANY_RESTAURANTS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @DisplayName("대기열(웨이팅) 관련 테스트코드")
 class QueueServiceTest {
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private RestaurantRepository restaurantRepository;
 
@@ -44,19 +51,24 @@ class QueueServiceTest {
     private QueueRepository queueRepository;
 
     @Mock
-    private FcmService fcmService;
+    private ApplicationEventPublisher eventPublisher;
+
+    private QueueCountCache queueCountCache;
 
     private QueueService queueService;
 
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.initMocks(this);
+        queueCountCache = new QueueCountCache();
+        ReflectionTestUtils.setField(queueCountCache, "ttlMillis", 60_000L);
         queueService = new QueueService(
-                userRepository,
                 restaurantRepository,
                 queueRedisRepository,
                 queueRepository,
-                fcmService
+                new RestaurantCapacityCache(restaurantRepository),
+                queueCountCache,
+                eventPublisher
         );
     }
 
@@ -79,21 +91,100 @@ class QueueServiceTest {
 
         when(queueRepository.save(any())).thenReturn(mockQueue);
 
-        when(queueRepository
-                .findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(mockUser.getId(), mockRestaurant.getId()))
-                .thenReturn(Optional.of(mockQueue));
-
-        when(queueRedisRepository
-                .getUserWaitingCount(
-                        String.valueOf(mockRestaurant.getId()),
-                        String.valueOf(mockQueue.getId())))
-                .thenReturn(null);
+        when(queueRedisRepository.enqueue("1", "1", "1", 0L)).thenReturn(0L);
 
         // when
         queueService.createQueue(queueCreationRequestForm, mockUser.getId(), mockRestaurant.getId());
 
         // then
-        verify(queueRedisRepository, times(1)).createQueue(eq("1"), eq("1"));
+        verify(queueRedisRepository, times(1)).enqueue(eq("1"), eq("1"), eq("1"), eq(0L));
+        verify(queueRepository, never())
+                .findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(any(), any());
+    }
+
+    @Test
+    @DisplayName("고객 대기번호가져오기 (성공-예상 대기시간 포함)")
+    public void testGetUserQueueNumber_WithEstimatedWaitTime() {
+        // given
+        Long restaurantId = 1L;
+        Long userId = 123L;
+
+        // 좌석당 1분, 평균 2명, 방금 입장 -> 팀당 2분
+        QueueWaitTimeDto waitTime = QueueWaitTimeDto.builder()
+                .millisPerSeat(60_000d)
+                .partySize(2d)
+                .lastSeatedAt(System.currentTimeMillis())
+                .build();
+        when(queueRedisRepository.getUserWaitingIndex("1", "123")).thenReturn(2L);
+        when(queueRedisRepository.findWaitTimeStats("1")).thenReturn(waitTime);
+
+        // when
+        QueueIndexDto userQueueNumber =
+                queueService.getUserQueueNumber(restaurantId, userId);
+
+        // then
+        assertThat(userQueueNumber.getEstimatedWaitMinutes()).isBetween(5L, 6L);
+    }
+
+    @Test
+    @DisplayName("웨이팅 등록 (실패-이미 대기중인 사용자)")
+    public void testCreateQueue_AlreadyInQueue() {
+        // given
+        Restaurant mockRestaurant = Restaurant.builder().id(1L).build();
+        Queue mockQueue = Queue.builder().id(2L).restaurantId(1L).userId(1L).build();
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(mockRestaurant));
+        when(queueRepository.save(any())).thenReturn(mockQueue);
+        when(queueRedisRepository.enqueue("1", "1", "2", 0L)).thenReturn(-1L);
+
+        // when and then
+        CustomException exception = assertThrows(
+                CustomException.class,
+                () -> queueService.createQueue(
+                        QueueCreationRequestForm.builder().numberOfParty(1L).build(), 1L, 1L)
+        );
+        assertThat(exception.getErrorCode()).isEqualTo(QUEUE_ALREADY_EXISTS);
+    }
+
+    @Test
+    @DisplayName("웨이팅 등록 (실패-최대 웨이팅 수 도달, DB 저장 전 거절)")
+    public void testCreateQueue_QueueIsFull() {
+        // given
+        Restaurant mockRestaurant = Restaurant.builder().id(1L).maxWaiting(2L).build();
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(mockRestaurant));
+        when(queueRedisRepository.countWaiting("1")).thenReturn(2L);
+
+        // when and then
+        CustomException exception = assertThrows(
+                CustomException.class,
+                () -> queueService.createQueue(
+                        QueueCreationRequestForm.builder().numberOfParty(1L).build(), 1L, 1L)
+        );
+        assertThat(exception.getErrorCode()).isEqualTo(QUEUE_IS_FULL);
+        verify(queueRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("웨이팅 등록 (실패-동시 등록으로 스크립트에서 정원 초과)")
+    public void testCreateQueue_QueueIsFullInScript() {
+        // given
+        Restaurant mockRestaurant = Restaurant.builder().id(1L).maxWaiting(2L).build();
+        Queue mockQueue = Queue.builder().id(3L).restaurantId(1L).userId(1L).build();
+
+        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(mockRestaurant));
+        when(queueRedisRepository.countWaiting("1")).thenReturn(1L);
+        when(queueRepository.save(any())).thenReturn(mockQueue);
+        when(queueRedisRepository.enqueue("1", "1", "3", 2L)).thenReturn(-2L);
+
+        // when and then
+        CustomException exception = assertThrows(
+                CustomException.class,
+                () -> queueService.createQueue(
+                        QueueCreationRequestForm.builder().numberOfParty(1L).build(), 1L, 1L)
+        );
+        assertThat(exception.getErrorCode()).isEqualTo(QUEUE_IS_FULL);
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -130,12 +221,10 @@ class QueueServiceTest {
                 .collect(Collectors.toList());
 
         when(queueRedisRepository.findAll(restaurantId)).thenReturn(mockQueueIds);
-        when(queueRepository.findById(any())).thenAnswer(invocation -> {
-            Long queueId = invocation.getArgument(0);
-            return mockQueueList.stream()
-                    .filter(queue -> queue.getId().equals(queueId))
-                    .findFirst();
-        });
+        // DB 는 Redis 순서와 다르게 반환
+        List<Queue> shuffledQueueList = new ArrayList<>(mockQueueList);
+        Collections.reverse(shuffledQueueList);
+        when(queueRepository.findAllById(Arrays.asList(1L, 2L, 3L))).thenReturn(shuffledQueueList);
 
         // when
         QueueListDto queueListDto = queueService.getQueueList(Long.parseLong(restaurantId));
@@ -144,12 +233,45 @@ class QueueServiceTest {
         assertThat(mockQueueDtos.size())
                 .isEqualTo(queueListDto.getQueueDtoList().size());
 
-        assertThat(
-                mockQueueDtos
-                        .get(0)
-                        .getId()
-                        .equals(queueListDto.getQueueDtoList().get(0).getId()))
-                .isTrue();
+        assertThat(queueListDto.getQueueDtoList())
+                .extracting(QueueDto::getId)
+                .containsExactly(1L, 2L, 3L);
+
+        verify(queueRepository, times(1)).findAllById(any());
+        verify(queueRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("웨이팅정보 페이지 단위로 가져오기 (실패-잘못된 페이지 번호, 크기)")
+    public void testGetQueueList_invalidPage() {
+        assertThatThrownBy(() -> queueService.getQueueList(1L, 0, 0))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_PAGE_REQUEST);
+        assertThatThrownBy(() -> queueService.getQueueList(1L, -1, 10))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", INVALID_PAGE_REQUEST);
+        verify(queueRedisRepository, never()).findRange(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("웨이팅정보 페이지 단위로 가져오기 (성공)")
+    public void testGetQueueList_paged() {
+        // given
+        when(queueRedisRepository.findRange("1", 2, 3)).thenReturn(Arrays.asList("3", "4"));
+        when(queueRedisRepository.countWaiting("1")).thenReturn(10L);
+        when(queueRepository.findAllById(Arrays.asList(3L, 4L))).thenReturn(Arrays.asList(
+                Queue.builder().id(3L).build(),
+                Queue.builder().id(4L).build()
+        ));
+
+        // when
+        QueueListDto queueListDto = queueService.getQueueList(1L, 1, 2);
+
+        // then
+        assertThat(queueListDto.getTotalQueue()).isEqualTo(10);
+        assertThat(queueListDto.getQueueDtoList())
+                .extracting(QueueDto::getId)
+                .containsExactly(3L, 4L);
     }
 
     @Test
@@ -193,6 +315,25 @@ class QueueServiceTest {
         assertThat(userQueueNumber.getUserQueueIndex()).isEqualTo(expectedUserQueueNumber);
     }
 
+    @Test
+    @DisplayName("고객 대기번호가져오기 (성공-DB 조회 없음)")
+    public void testGetUserQueueNumber_FromRedisOnly() {
+        // given
+        Long restaurantId = 1L;
+        Long userId = 123L;
+
+        when(queueRedisRepository.getUserWaitingIndex("1", "123")).thenReturn(2L);
+
+        // when
+        QueueIndexDto userQueueNumber =
+                queueService.getUserQueueNumber(restaurantId, userId);
+
+        // then
+        assertThat(userQueueNumber.getUserQueueIndex()).isEqualTo(2L);
+        verify(queueRepository, never())
+                .findFirstByUserIdAndRestaurantIdOrderByCreatedAtDesc(any(), any());
+    }
+
     @Test
     @DisplayName("고객 대기번호가져오기 (실패-등록된 큐 없음)")
     public void testGetUserQueueNumber_NoQueueRegistered() {
@@ -233,6 +374,27 @@ class QueueServiceTest {
                 .popTheFirstTeamOfQueue("1");
     }
 
+    @Test
+    @DisplayName("대기열 당기기 (성공-구독자에게 변경 이벤트 발행)")
+    public void testPopTheFirstTeamOfQueue_publishesEvent() {
+        // given
+        Long restaurantId = 1L;
+        when(queueRedisRepository.popTheFirstTeamOfQueue("1")).thenReturn("1");
+        when(queueRepository.findById(1L)).thenReturn(Optional.of(
+                Queue.builder().id(1L).restaurantId(restaurantId).numberOfParty(3L).build()));
+        when(queueRedisRepository.findAll("1")).thenReturn(Collections.emptyList());
+
+        // when
+        queueService.popTheFirstTeamOfQueue(restaurantId);
+
+        // then
+        verify(queueRedisRepository).recordSeating(eq("1"), eq(3L), anyLong());
+        ArgumentCaptor<QueueChangedEvent> eventCaptor = ArgumentCaptor.forClass(QueueChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getRestaurantId()).isEqualTo(restaurantId);
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(QueueEventType.POP);
+    }
+
     @Test
     @DisplayName("대기열 당기기 (실패-빈리스트)")
     public void testPopTheFirstTeamOfQueue_emptyQueue() {
@@ -247,6 +409,7 @@ class QueueServiceTest {
         // then
         verify(queueRedisRepository, times(1))
                 .popTheFirstTeamOfQueue("1");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
@@ -254,14 +417,49 @@ class QueueServiceTest {
     public void testGetQueueOfRestaurant() {
         //given
         Long restaurantId = 123L;
-        List<String> mockQueues = Arrays.asList("Queue1", "Queue2", "Queue3");
-        when(queueRedisRepository.findAll(String.valueOf(restaurantId))).thenReturn(mockQueues);
+        when(queueRedisRepository.countWaiting(String.valueOf(restaurantId))).thenReturn(3L);
 
         //when
         QueueOfRestaurantDto result = queueService.getQueueOfRestaurant(restaurantId);
 
         //then
-        assertThat(result.getTotalQueue()).isEqualTo(mockQueues.size());
+        assertThat(result.getTotalQueue()).isEqualTo(3);
+        verify(queueRedisRepository, never()).findAll(any());
+    }
+
+    @Test
+    @DisplayName("여러 식당의 웨이팅 수 가져오기 (성공-한 번의 파이프라인, 이후 캐시 사용)")
+    public void testGetQueueCounts() {
+        //given
+        when(queueRedisRepository.countWaitingOfRestaurants(Arrays.asList("1", "2")))
+                .thenReturn(Arrays.asList(4L, 0L));
+
+        //when
+        List<QueueCountDto> first = queueService.getQueueCounts(Arrays.asList(1L, 2L, 1L));
+        List<QueueCountDto> second = queueService.getQueueCounts(Arrays.asList(2L, 1L));
+
+        //then
+        assertThat(first).extracting(QueueCountDto::getRestaurantId).containsExactly(1L, 2L);
+        assertThat(first).extracting(QueueCountDto::getTotalQueue).containsExactly(4L, 0L);
+        assertThat(second).extracting(QueueCountDto::getTotalQueue).containsExactly(0L, 4L);
+        verify(queueRedisRepository, times(1)).countWaitingOfRestaurants(any());
+    }
+
+    @Test
+    @DisplayName("여러 식당의 웨이팅 수 가져오기 (실패-최대 조회 수 초과)")
+    public void testGetQueueCounts_TooManyRestaurants() {
+        //given
+        List<Long> restaurantIds = new ArrayList<>();
+        for (long i = 0; i < 301; i++) {
+            restaurantIds.add(i);
+        }
+
+        //when and then
+        CustomException exception = assertThrows(
+                CustomException.class,
+                () -> queueService.getQueueCounts(restaurantIds)
+        );
+        assertThat(exception.getErrorCode()).isEqualTo(TOO_MANY_RESTAURANTS);
     }
 
     @Test
@@ -269,8 +467,6 @@ class QueueServiceTest {
     public void testGetUserQueueList() {
         // 가짜 데이터 생성
         Long userId = 1L;
-        Queue queue1 = Queue.builder().id(1L).restaurantId(1L).build();
-        Queue queue2 = Queue.builder().id(2L).restaurantId(2L).build();
         Restaurant restaurant1 = Restaurant.builder()
                 .id(1L)
                 .restaurantName("aa")
@@ -292,25 +488,53 @@ class QueueServiceTest {
                 .userRole(UserRole.ROLE_RESTAURANT)
                 .build();
 
-        when(queueRepository.findByUserId(userId)).thenReturn(Arrays.asList(queue1, queue2));
-        when(queueRedisRepository.getUserWaitingCount("1", "1")).thenReturn(5L);
-        when(queueRedisRepository.getUserWaitingCount("2", "2")).thenReturn(2L);
-        when(restaurantRepository.findById(1L)).thenReturn(Optional.of(restaurant1));
+        when(queueRedisRepository.findActiveQueues("1"))
+                .thenReturn(new LinkedHashSet<>(Arrays.asList("1:1", "2:2", "3:7")));
+        when(queueRedisRepository.getUserWaitingCounts(
+                Arrays.asList("1", "2", "3"), Arrays.asList("1", "2", "7")))
+                .thenReturn(Arrays.asList(5L, 2L, null));
+        when(queueRepository.findDoneQueuesOfUserSince(eq(userId), any()))
+                .thenReturn(Collections.emptyList());
+        when(restaurantRepository.findAllById(any()))
+                .thenReturn(Collections.singletonList(restaurant1));
 
         // 실제 메서드 호출
         List<QueueOfUserDto> result = queueService.getUserQueueList(userId);
 
-        // 결과 검증
+        // 결과 검증 (매장 정보가 없는 2번 웨이팅은 제외)
         assertThat(result).hasSize(1);
         QueueOfUserDto dto = result.get(0);
         assertThat(dto.getId()).isEqualTo(1L);
         assertThat(dto.getRestaurantDto().getEmail()).isEqualTo(RestaurantDto.of(restaurant1).getEmail());
         assertThat(dto.getUserQueueIndex()).isEqualTo(6L);
 
-        // 메서드 호출 검증
-        verify(queueRepository).findByUserId(userId);
-        verify(queueRedisRepository).getUserWaitingCount("1", "1");
-        verify(queueRedisRepository).getUserWaitingCount("2", "2");
-        verify(restaurantRepository).findById(1L);
+        // 메서드 호출 검증 (지난 이력 전체 조회, 매장별 개별 조회 없음, 대기열에서 빠진 항목 정리)
+        verify(queueRepository, never()).findByUserId(any());
+        verify(restaurantRepository, never()).findById(any());
+        verify(queueRedisRepository).removeActiveQueue("1", "3", "7");
+    }
+
+    @Test
+    @DisplayName("사용자 현재 웨이팅정보 가져오기 (성공-최근 입장 처리된 웨이팅 포함)")
+    public void testGetUserQueueList_RecentlyDone() {
+        // given
+        Long userId = 1L;
+        Queue doneQueue = Queue.builder().id(4L).restaurantId(1L).isDone(true).build();
+        Restaurant restaurant = Restaurant.builder().id(1L).build();
+
+        when(queueRedisRepository.findActiveQueues("1")).thenReturn(Collections.emptySet());
+        when(queueRepository.findDoneQueuesOfUserSince(eq(userId), any()))
+                .thenReturn(Collections.singletonList(doneQueue));
+        when(restaurantRepository.findAllById(any()))
+                .thenReturn(Collections.singletonList(restaurant));
+
+        // when
+        List<QueueOfUserDto> result = queueService.getUserQueueList(userId);
+
+        // then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(4L);
+        assertThat(result.get(0).getUserQueueIndex()).isEqualTo(0L);
+        verify(queueRedisRepository, never()).getUserWaitingCounts(any(), any());
     }
 }
\ No newline at end of file
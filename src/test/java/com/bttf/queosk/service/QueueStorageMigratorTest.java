@@ -0,0 +1,94 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.entity.Queue;
+import com.bttf.queosk.repository.QueueRedisRepository;
+import com.bttf.queosk.repository.QueueRepository;
+import com.bttf.queosk.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("대기열 저장 방식 이전 테스트코드")
+class QueueStorageMigratorTest {
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    @Mock
+    private QueueRedisRepository queueRedisRepository;
+
+    @Mock
+    private QueueRepository queueRepository;
+
+    private QueueStorageMigrator queueStorageMigrator;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        queueStorageMigrator = new QueueStorageMigrator(restaurantRepository, queueRedisRepository, queueRepository);
+    }
+
+    @Test
+    @DisplayName("기동 시 이전 (성공-이전 방식의 키가 남아있는 매장만 스크립트 실행)")
+    public void testMigrateOnlyLegacyQueues() {
+        // given
+        when(restaurantRepository.findAllIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(queueRedisRepository.countUnownedWaitingOfRestaurants(Arrays.asList("1", "2", "3")))
+                .thenReturn(Arrays.asList(0L, 0L, 0L));
+        when(queueRedisRepository.countWaitingInOtherStorageMode(Arrays.asList("1", "2", "3")))
+                .thenReturn(Arrays.asList(0L, 4L, 0L));
+        when(queueRedisRepository.countOwnersOfRestaurants(Arrays.asList("1", "2", "3")))
+                .thenReturn(Arrays.asList(2L, 4L, 0L));
+        when(queueRedisRepository.migrateToCurrentStorageMode("2")).thenReturn(4L);
+
+        // when
+        queueStorageMigrator.migrateLiveQueues();
+
+        // then
+        verify(queueRedisRepository, times(1)).migrateToCurrentStorageMode(anyString());
+        verify(queueRedisRepository).migrateToCurrentStorageMode("2");
+        verify(queueRedisRepository).rebuildActiveQueues("1");
+        verify(queueRedisRepository).rebuildActiveQueues("2");
+        verify(queueRedisRepository, never()).rebuildActiveQueues("3");
+        verify(queueRedisRepository, never()).findUnownedQueueIds(anyString());
+    }
+
+    @Test
+    @DisplayName("기동 시 이전 (성공-해시 도입 이전 대기팀은 DB 의 사용자로 해시를 채운 뒤 이전, 목록 보정)")
+    public void testBackfillOwnersBeforeMigration() {
+        // given
+        when(restaurantRepository.findAllIds()).thenReturn(Collections.singletonList(1L));
+        when(queueRedisRepository.countUnownedWaitingOfRestaurants(Collections.singletonList("1")))
+                .thenReturn(Collections.singletonList(2L));
+        when(queueRedisRepository.countWaitingInOtherStorageMode(Collections.singletonList("1")))
+                .thenReturn(Collections.singletonList(2L));
+        when(queueRedisRepository.findUnownedQueueIds("1")).thenReturn(Arrays.asList("10", "11"));
+        when(queueRepository.findAllById(Arrays.asList(10L, 11L))).thenReturn(Arrays.asList(
+                Queue.builder().id(10L).userId(100L).restaurantId(1L).build(),
+                Queue.builder().id(11L).userId(110L).restaurantId(1L).build()
+        ));
+        when(queueRedisRepository.backfillOwners(any(), any(), any())).thenReturn(2L);
+        // 해시를 채운 뒤에야 소유자가 생김
+        when(queueRedisRepository.countOwnersOfRestaurants(Collections.singletonList("1")))
+                .thenReturn(Collections.singletonList(2L));
+
+        // when
+        queueStorageMigrator.migrateLiveQueues();
+
+        // then
+        InOrder inOrder = inOrder(queueRedisRepository);
+        inOrder.verify(queueRedisRepository).backfillOwners("1", Arrays.asList("10", "11"), Arrays.asList("100", "110"));
+        inOrder.verify(queueRedisRepository).migrateToCurrentStorageMode("1");
+        inOrder.verify(queueRedisRepository).countOwnersOfRestaurants(Collections.singletonList("1"));
+        inOrder.verify(queueRedisRepository).rebuildActiveQueues("1");
+    }
+}
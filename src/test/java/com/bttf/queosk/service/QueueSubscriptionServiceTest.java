@@ -0,0 +1,76 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.repository.QueueRedisRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DisplayName("웨이팅 순서 구독 관련 테스트코드")
+class QueueSubscriptionServiceTest {
+    private static final Long RESTAURANT_ID = 1L;
+
+    @Mock
+    private QueueRedisRepository queueRedisRepository;
+
+    private QueueSubscriptionService queueSubscriptionService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        queueSubscriptionService = new QueueSubscriptionService(queueRedisRepository);
+    }
+
+    @Test
+    @DisplayName("구독 (성공-같은 사용자가 다시 구독하면 이전 연결을 종료하고 새 연결만 유지)")
+    public void testSubscribe_replacesPreviousEmitter() {
+        // given
+        when(queueRedisRepository.getUserWaitingIndex("1", "10")).thenReturn(3L);
+
+        // when
+        SseEmitter previous = queueSubscriptionService.subscribe(RESTAURANT_ID, 10L);
+        SseEmitter current = queueSubscriptionService.subscribe(RESTAURANT_ID, 10L);
+
+        // then
+        assertThat(subscribers()).containsOnlyKeys(RESTAURANT_ID);
+        assertThat(subscribers().get(RESTAURANT_ID)).containsExactly(entry(10L, current));
+        assertThatThrownBy(() -> previous.send("ping")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("순서 전송 (성공-연결이 끊긴 마지막 구독자가 빠지면 매장 항목도 제거)")
+    public void testPushPositions_removesEmptyRestaurant() {
+        // given
+        when(queueRedisRepository.getUserWaitingIndex("1", "10")).thenReturn(3L);
+        SseEmitter emitter = queueSubscriptionService.subscribe(RESTAURANT_ID, 10L);
+        emitter.complete();
+
+        when(queueRedisRepository.findQueueIdsOfUsers(any(), any()))
+                .thenReturn(Collections.singletonList("100"));
+        when(queueRedisRepository.findAll("1")).thenReturn(Arrays.asList("99", "100"));
+
+        // when
+        queueSubscriptionService.pushPositions(RESTAURANT_ID);
+
+        // then
+        assertThat(subscribers()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Map<Long, SseEmitter>> subscribers() {
+        return (Map<Long, Map<Long, SseEmitter>>) ReflectionTestUtils.getField(queueSubscriptionService, "emitters");
+    }
+}
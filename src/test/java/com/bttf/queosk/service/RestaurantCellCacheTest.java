@@ -0,0 +1,146 @@
+package com.bttf.queosk.service;
+
+import com.bttf.queosk.common.geo.RestaurantGeoIndex;
+import com.bttf.queosk.dto.RestaurantDto;
+import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.enumerate.RestaurantCategory;
+import com.bttf.queosk.event.RestaurantSyncEvent;
+import com.bttf.queosk.repository.RestaurantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@DisplayName("주변 매장 칸 캐시 테스트코드")
+class RestaurantCellCacheTest {
+    @Mock
+    private RestaurantRepository restaurantRepository;
+
+    private final Map<Long, Restaurant> restaurants = new HashMap<>();
+
+    private RestaurantGeoIndex restaurantGeoIndex;
+
+    private RestaurantCellCache restaurantCellCache;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        restaurantGeoIndex = new RestaurantGeoIndex(restaurantRepository);
+        restaurantCellCache = new RestaurantCellCache(restaurantGeoIndex, restaurantRepository);
+        ReflectionTestUtils.setField(restaurantCellCache, "precision", 7);
+        ReflectionTestUtils.setField(restaurantCellCache, "maxEntries", 100);
+
+        Random random = new Random(3);
+        for (long id = 1; id <= 2000; id++) {
+            restaurants.put(id, restaurant(id,
+                    37.55 + random.nextDouble() * 0.03, 126.97 + random.nextDouble() * 0.03));
+        }
+        when(restaurantRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(new ArrayList<>(restaurants.values())));
+        when(restaurantRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Restaurant> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                found.add(restaurants.get((Long) id));
+            }
+            return found;
+        });
+        when(restaurantRepository.findById(any())).thenAnswer(invocation ->
+                Optional.ofNullable(restaurants.get((Long) invocation.getArgument(0))));
+        restaurantGeoIndex.load();
+    }
+
+    @Test
+    @DisplayName("같은 칸의 다른 좌표 (성공-캐시 사용, 좌표별 정확한 거리순)")
+    public void testSearch_sameCellDifferentPoints() {
+        // given
+        double lat = 37.566400;
+        double lng = 126.977300;
+        Pageable pageable = PageRequest.of(1, 10);
+
+        // when
+        List<Long> first = ids(restaurantCellCache.search(lat, lng, RestaurantCategory.ALL, null, pageable)
+                .getContent());
+        List<Long> second = ids(restaurantCellCache.search(lat + 0.0013, lng + 0.0012,
+                RestaurantCategory.ALL, null, pageable).getContent());
+
+        // then
+        verify(restaurantRepository, times(1)).findAllById(anyIterable());
+        assertThat(first).isEqualTo(
+                restaurantGeoIndex.search(lat, lng, RestaurantCategory.ALL, null, 10, 10).getRestaurantIds());
+        assertThat(second).isEqualTo(restaurantGeoIndex.search(lat + 0.0013, lng + 0.0012,
+                RestaurantCategory.ALL, null, 10, 10).getRestaurantIds());
+    }
+
+    @Test
+    @DisplayName("근처에 매장이 새로 생기면 칸 결과를 다시 계산")
+    public void testEvict_restaurantMovedIntoCell() {
+        // given
+        double lat = 37.566400;
+        double lng = 126.977300;
+        Pageable pageable = PageRequest.of(0, 5);
+        restaurantCellCache.search(lat, lng, RestaurantCategory.ALL, null, pageable);
+
+        restaurants.put(9999L, restaurant(9999L, lat, lng));
+        restaurantGeoIndex.refresh(RestaurantSyncEvent.of(9999L));
+
+        // when
+        restaurantCellCache.evict(RestaurantSyncEvent.of(9999L));
+        List<Long> result = ids(restaurantCellCache.search(lat, lng, RestaurantCategory.ALL, null, pageable)
+                .getContent());
+
+        // then
+        verify(restaurantRepository, times(2)).findAllById(anyIterable());
+        assertThat(result.get(0)).isEqualTo(9999L);
+    }
+
+    @Test
+    @DisplayName("다른 지역에 매장이 생겨도 칸 결과는 유지하고 전체 매장 수만 갱신")
+    public void testSearch_totalCountFollowsIndex() {
+        // given
+        double lat = 37.566400;
+        double lng = 126.977300;
+        Pageable pageable = PageRequest.of(0, 5);
+        long before = restaurantCellCache.search(lat, lng, RestaurantCategory.ALL, null, pageable)
+                .getTotalElements();
+
+        restaurants.put(9999L, restaurant(9999L, 35.1796, 129.0756));
+        restaurantGeoIndex.refresh(RestaurantSyncEvent.of(9999L));
+        restaurantCellCache.evict(RestaurantSyncEvent.of(9999L));
+
+        // when
+        long after = restaurantCellCache.search(lat, lng, RestaurantCategory.ALL, null, pageable)
+                .getTotalElements();
+
+        // then
+        verify(restaurantRepository, times(1)).findAllById(anyIterable());
+        assertThat(before).isEqualTo(2000L);
+        assertThat(after).isEqualTo(2001L);
+    }
+
+    private static List<Long> ids(List<RestaurantDto> restaurants) {
+        return restaurants.stream().map(RestaurantDto::getId).collect(Collectors.toList());
+    }
+
+    private static Restaurant restaurant(Long id, double lat, double lng) {
+        return Restaurant.builder()
+                .id(id)
+                .latitude(lat)
+                .longitude(lng)
+                .category(RestaurantCategory.KOREAN)
+                .restaurantName("매장" + id)
+                .build();
+    }
+}
@@ -1,9 +1,11 @@
 package com.bttf.queosk.service;
 
+import com.bttf.queosk.common.geo.RestaurantGeoIndex;
 import com.bttf.queosk.config.JwtTokenProvider;
 import com.bttf.queosk.dto.*;
 import com.bttf.queosk.entity.Menu;
 import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.event.RestaurantChangedEvent;
 import com.bttf.queosk.enumerate.MenuStatus;
 import com.bttf.queosk.enumerate.RestaurantCategory;
 import com.bttf.queosk.exception.CustomException;
@@ -19,9 +21,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.Arrays;
 import java.util.List;
@@ -63,11 +67,18 @@ class RestaurantServiceTest {
     private MenuRepository menuRepository;
     @Mock
     private RestaurantQueryDSLRepository restaurantQueryDSLRepository;
+    @Mock
+    private RestaurantCellCache restaurantCellCache;
+    @Mock
+    private RestaurantGeoIndex restaurantGeoIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     public void init() {
         restaurantService = new RestaurantService(restaurantRepository, refreshTokenRepository,
-                passwordEncoder, jwtTokenProvider, kakaoGeoAddressService, imageService, emailSender, menuRepository, restaurantQueryDSLRepository);
+                passwordEncoder, jwtTokenProvider, kakaoGeoAddressService, imageService, emailSender, menuRepository, restaurantQueryDSLRepository,
+                restaurantCellCache, restaurantGeoIndex, eventPublisher);
     }
 
 
@@ -336,4 +347,113 @@ class RestaurantServiceTest {
         assertThat(restaurantDetailsDto.getMenuDtoList().get(1).getStatus()).isEqualTo(MenuStatus.SOLD_OUT);
         assertThat(restaurantDetailsDto.getRestaurantDto().getId()).isEqualTo(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("매장 커서 조회 - 다음 페이지 존재 (성공)")
+    public void testGetCoordRestaurantCursor_hasNext() {
+        // given
+        Restaurant restaurant1 = Restaurant.builder().id(1L).latitude(37.5).longitude(127.0).build();
+        Restaurant restaurant2 = Restaurant.builder().id(2L).latitude(37.51).longitude(127.0).build();
+        Restaurant restaurant3 = Restaurant.builder().id(3L).latitude(37.52).longitude(127.0).build();
+
+        given(restaurantQueryDSLRepository.getRestaurantListByDistanceAfter(
+                127.0, 37.5, 3, "ALL", null, null, null))
+                .willReturn(Arrays.asList(
+                        RestaurantDistanceDto.of(restaurant1, 0.0),
+                        RestaurantDistanceDto.of(restaurant2, 1.25),
+                        RestaurantDistanceDto.of(restaurant3, 2.5)));
+        given(restaurantQueryDSLRepository.countRestaurants("ALL", null)).willReturn(10L);
+
+        // when
+        RestaurantCursorDto result = restaurantService.getCoordRestaurantCursor(
+                127.0, 37.5, 2, RestaurantCategory.ALL, null);
+
+        // then
+        assertThat(result.getRestaurants()).hasSize(2);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo("1.25:2");
+        assertThat(result.getTotalCount()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("매장 커서 조회 - 마지막 페이지는 전체 수를 다시 세지 않음 (성공)")
+    public void testGetKeywordRestaurantCursor_lastPage() {
+        // given
+        Restaurant restaurant = Restaurant.builder().id(7L).latitude(37.5).longitude(127.0).build();
+
+        given(restaurantQueryDSLRepository.getRestaurantListByDistanceAfter(
+                127.0, 37.5, 3, "ALL", "만두", 1.5, 4L))
+                .willReturn(Arrays.asList(RestaurantDistanceDto.of(restaurant, 1.6)));
+
+        // when
+        RestaurantCursorDto result = restaurantService.getKeywordRestaurantCursor(
+                127.0, 37.5, 2, RestaurantCategory.ALL, "만두", "1.5:4");
+
+        // then
+        assertThat(result.getRestaurants()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        assertThat(result.getTotalCount()).isNull();
+        verify(restaurantQueryDSLRepository, never()).countRestaurants(any(), any());
+    }
+
+    @Test
+    @DisplayName("매장 커서 조회 - 잘못된 커서 (실패)")
+    public void testGetCoordRestaurantCursor_invalidCursor() {
+        assertThatThrownBy(() -> restaurantService.getCoordRestaurantCursor(
+                127.0, 37.5, 2, RestaurantCategory.ALL, "abc"))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_CURSOR);
+    }
+
+    @Test
+    @DisplayName("매장 커서 조회 - 잘못된 페이지 크기 (실패)")
+    public void testGetCoordRestaurantCursor_invalidSize() {
+        assertThatThrownBy(() -> restaurantService.getCoordRestaurantCursor(
+                127.0, 37.5, 0, RestaurantCategory.ALL, null))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_PAGE_REQUEST);
+        verify(restaurantQueryDSLRepository, never())
+                .getRestaurantListByDistanceAfter(anyDouble(), anyDouble(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("매장 이미지 업로드 - 변경 이벤트 발행 (성공)")
+    public void testImageUpload_publishesChangedEvent() throws Exception {
+        // given
+        Restaurant restaurant = Restaurant.builder().id(1L).imageUrl("restaurant/old.png").build();
+        MultipartFile image = mock(MultipartFile.class);
+
+        given(jwtTokenProvider.getIdFromToken("token")).willReturn(1L);
+        given(restaurantRepository.findById(1L)).willReturn(Optional.of(restaurant));
+        given(imageService.saveFile(eq(image), anyString())).willReturn("restaurant/new.png");
+
+        // when
+        restaurantService.imageUpload("token", image);
+
+        // then
+        assertThat(restaurant.getImageUrl()).isEqualTo("restaurant/new.png");
+        verify(imageService).deleteFile("restaurant/old.png");
+        verify(eventPublisher).publishEvent(any(RestaurantChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("지도 타일 집계 - 범위를 벗어난 줌 레벨 (실패)")
+    public void testGetRestaurantClusters_invalidZoom() {
+        assertThatThrownBy(() -> restaurantService.getRestaurantClusters(126.9, 37.5, 127.0, 37.6, 31))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ZOOM_LEVEL);
+        assertThatThrownBy(() -> restaurantService.getRestaurantClusters(126.9, 37.5, 127.0, 37.6, -1))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_ZOOM_LEVEL);
+    }
+
+    @Test
+    @DisplayName("지도 타일 집계 - 최솟값이 최댓값보다 큰 영역 (실패)")
+    public void testGetRestaurantClusters_invertedBounds() {
+        assertThatThrownBy(() -> restaurantService.getRestaurantClusters(127.0, 37.5, 126.9, 37.6, 10))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_MAP_BOUNDS);
+        verify(restaurantGeoIndex, never()).clusters(anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+}
@@ -5,6 +5,8 @@ import com.bttf.queosk.entity.Menu;
 import com.bttf.queosk.entity.MenuItem;
 import com.bttf.queosk.entity.Order;
 import com.bttf.queosk.entity.Restaurant;
+import com.bttf.queosk.exception.CustomException;
+import com.bttf.queosk.exception.ErrorCode;
 import com.bttf.queosk.repository.MenuItemRepository;
 import com.bttf.queosk.repository.OrderRepository;
 import com.bttf.queosk.repository.RestaurantRepository;
@@ -13,6 +15,10 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
@@ -21,6 +27,11 @@ import static com.bttf.queosk.enumerate.MenuStatus.ON_SALE;
 import static com.bttf.queosk.enumerate.OrderStatus.DONE;
 import static com.bttf.queosk.enumerate.OrderStatus.IN_PROGRESS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @Transactional
@@ -67,14 +78,65 @@ public class UserHistoryTest {
 
         List<MenuItem> menus = new ArrayList<>();
 
+        Order order = Order.builder()
+                .id(1L)
+                .userId(userId)
+                .restaurantId(restaurant.getId())
+                .status(DONE)
+                .build();
+
         MenuItem menuItem = MenuItem.builder()
                 .menu(menu1)
                 .count(1)
                 .id(4L)
+                .order(order)
                 .build();
 
         menus.add(menuItem);
 
+        List<Order> orders = Collections.singletonList(order);
+
+        when(orderRepository.findByUserIdAndStatusNotOrderByCreatedAtDesc(eq(userId), eq(IN_PROGRESS), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(orders, PageRequest.of(0, 20), true));
+        when(restaurantRepository.findAllById(any()))
+                .thenReturn(Collections.singletonList(restaurant));
+        when(menuItemRepositoryRepository.findAllWithMenuByOrderIdIn(any()))
+                .thenReturn(Collections.singletonList(menuItem));
+        //when
+
+        Slice<UserHistoryDto> userHistories = userHistoryService.getUserHistories(userId, 0, 20);
+
+        //then
+        assertThat(userHistories.hasNext()).isTrue();
+        assertThat(userHistories.getContent().get(0).getRestaurantId()).isEqualTo(restaurant.getId());
+        assertThat(userHistories.getContent().get(0).getRestaurantName()).isEqualTo("식당식당");
+        assertThat(userHistories.getContent().get(0).getMenuItems()).isEqualTo(menus);
+        verify(restaurantRepository, never()).findById(any());
+        verify(menuItemRepositoryRepository, never()).findAllByOrderId(any());
+    }
+
+    @Test
+    @DisplayName("사용자 히스토리 조회 (실패-잘못된 페이지 요청)")
+    void testGetUserHistories_invalidPage() {
+        assertThatThrownBy(() -> userHistoryService.getUserHistories(1L, -1, 20))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_PAGE_REQUEST);
+        assertThatThrownBy(() -> userHistoryService.getUserHistories(1L, 0, 0))
+                .isInstanceOf(CustomException.class)
+                .hasFieldOrPropertyWithValue("errorCode", ErrorCode.INVALID_PAGE_REQUEST);
+        verify(orderRepository, never()).findByUserIdAndStatusNotOrderByCreatedAtDesc(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 히스토리 조회 (성공-매장명이 없는 매장도 조회)")
+    void testGetUserHistories_nullRestaurantName() {
+        //given
+        Long userId = 1L;
+
+        Restaurant restaurant = Restaurant.builder()
+                .id(2L)
+                .build();
+
         Order order = Order.builder()
                 .id(1L)
                 .userId(userId)
@@ -82,22 +144,19 @@ public class UserHistoryTest {
                 .status(DONE)
                 .build();
 
-        List<Order> orders = Collections.singletonList(order);
+        when(orderRepository.findByUserIdAndStatusNotOrderByCreatedAtDesc(eq(userId), eq(IN_PROGRESS), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Collections.singletonList(order), PageRequest.of(0, 20), false));
+        when(restaurantRepository.findAllById(any()))
+                .thenReturn(Collections.singletonList(restaurant));
+        when(menuItemRepositoryRepository.findAllWithMenuByOrderIdIn(any()))
+                .thenReturn(Collections.emptyList());
 
-        when(orderRepository.findByUserIdAndStatusNotOrderByCreatedAtDesc(userId, IN_PROGRESS))
-                .thenReturn(orders);
-        when(restaurantRepository.findById(restaurant.getId()))
-                .thenReturn(Optional.of(restaurant));
-        when(menuItemRepositoryRepository.findAllByOrderId(1L))
-                .thenReturn(Collections.singletonList(menuItem));
         //when
-
-        List<UserHistoryDto> userHistories = userHistoryService.getUserHistories(userId);
+        Slice<UserHistoryDto> userHistories = userHistoryService.getUserHistories(userId, 0, 20);
 
         //then
-        assertThat(userHistories.get(0).getRestaurantId()).isEqualTo(restaurant.getId());
-        assertThat(userHistories.get(0).getRestaurantName()).isEqualTo("식당식당");
-        assertThat(userHistories.get(0).getMenuItems()).isEqualTo(menus);
+        assertThat(userHistories.getContent()).hasSize(1);
+        assertThat(userHistories.getContent().get(0).getRestaurantId()).isEqualTo(restaurant.getId());
+        assertThat(userHistories.getContent().get(0).getRestaurantName()).isNull();
     }
-
 }